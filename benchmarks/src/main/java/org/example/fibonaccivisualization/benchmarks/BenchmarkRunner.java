@@ -0,0 +1,25 @@
+package org.example.fibonaccivisualization.benchmarks;
+
+import org.openjdk.jmh.profile.GCProfiler;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.Options;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+import org.openjdk.jmh.results.format.ResultFormatType;
+
+public class BenchmarkRunner {
+    // Runs every engine benchmark with the GC profiler, so allocation rate (gc.alloc.rate.norm) is always reported.
+    // Pass a regex as the first argument to run a subset, e.g. "LinearBenchmark".
+    public static void main(String[] args) throws RunnerException {
+        String include = args.length > 0 ? args[0] : "org.example.fibonaccivisualization.benchmarks.*";
+
+        Options options = new OptionsBuilder()
+                .include(include)
+                .addProfiler(GCProfiler.class)
+                .resultFormat(ResultFormatType.JSON)
+                .result("jmh-result.json")
+                .build();
+
+        new Runner(options).run();
+    }
+}
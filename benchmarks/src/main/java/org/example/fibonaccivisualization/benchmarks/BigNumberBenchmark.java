@@ -0,0 +1,46 @@
+package org.example.fibonaccivisualization.benchmarks;
+
+import org.example.fibonaccivisualization.model.FibRun;
+import org.example.fibonaccivisualization.model.FibonacciCalculator;
+import org.example.fibonaccivisualization.model.ParallelFibonacciCalculator;
+import org.openjdk.jmh.annotations.*;
+
+import java.math.BigInteger;
+import java.util.concurrent.TimeUnit;
+
+// Arbitrary-precision engines, where multiplication cost dominates
+@BenchmarkMode({Mode.Throughput, Mode.AverageTime})
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@State(Scope.Benchmark)
+public class BigNumberBenchmark {
+    @Param({"1000", "100000", "1000000"})
+    public int n;
+
+    private FibonacciCalculator calculator;
+    private ParallelFibonacciCalculator parallelCalculator;
+
+    @Setup
+    public void setUp() {
+        calculator = new FibonacciCalculator();
+        parallelCalculator = new ParallelFibonacciCalculator();
+    }
+
+    @TearDown
+    public void tearDown() {
+        parallelCalculator.shutdown();
+    }
+
+    // runFastDoubling bypasses the shared value cache
+    @Benchmark
+    public FibRun fastDoubling() {
+        return calculator.runFastDoubling(n);
+    }
+
+    @Benchmark
+    public BigInteger parallelFastDoubling() {
+        return parallelCalculator.fastDoubling(n);
+    }
+}
@@ -0,0 +1,54 @@
+package org.example.fibonaccivisualization.benchmarks;
+
+import org.example.fibonaccivisualization.model.CallTrace;
+import org.example.fibonaccivisualization.model.CancellationToken;
+import org.example.fibonaccivisualization.model.FibRun;
+import org.example.fibonaccivisualization.model.FibonacciCalculator;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.concurrent.TimeUnit;
+
+// Linear engines over the whole range that fits in a long
+@BenchmarkMode({Mode.Throughput, Mode.AverageTime})
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class LinearBenchmark {
+    @Param({"10", "46", "92"})
+    public int n;
+
+    private FibonacciCalculator calculator;
+
+    @Setup
+    public void setUp() {
+        calculator = new FibonacciCalculator();
+    }
+
+    @Benchmark
+    public FibRun memoized() {
+        // Untraced, so the benchmark measures the algorithm rather than the event log
+        return calculator.runMemoized(n, CancellationToken.NONE, CallTrace.DISABLED);
+    }
+
+    @Benchmark
+    public FibRun tabulated() {
+        return calculator.runTabulated(n);
+    }
+
+    @Benchmark
+    public long[] getTabulatedWithSteps() {
+        return calculator.getTabulatedWithSteps(n);
+    }
+
+    @Benchmark
+    public long tabulatedStream() {
+        return calculator.tabulatedStream(n).sum();
+    }
+
+    @Benchmark
+    public FibRun fastDoubling() {
+        return calculator.runFastDoubling(n);
+    }
+}
@@ -0,0 +1,51 @@
+package org.example.fibonaccivisualization.benchmarks;
+
+import org.example.fibonaccivisualization.model.FibNode;
+import org.example.fibonaccivisualization.model.FibRun;
+import org.example.fibonaccivisualization.model.FibonacciCalculator;
+import org.example.fibonaccivisualization.model.ParallelFibonacciCalculator;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.concurrent.TimeUnit;
+
+// Exponential engines, so n stays small
+@BenchmarkMode({Mode.Throughput, Mode.AverageTime})
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class RecursiveBenchmark {
+    @Param({"10", "15", "20", "25"})
+    public int n;
+
+    private FibonacciCalculator calculator;
+    private ParallelFibonacciCalculator parallelCalculator;
+
+    @Setup
+    public void setUp() {
+        calculator = new FibonacciCalculator();
+        parallelCalculator = new ParallelFibonacciCalculator();
+    }
+
+    @TearDown
+    public void tearDown() {
+        parallelCalculator.shutdown();
+    }
+
+    // The value-only recursive(n) answers from the shared cache, so benchmark the engine through runRecursive
+    @Benchmark
+    public FibRun recursive() {
+        return calculator.runRecursive(n);
+    }
+
+    @Benchmark
+    public FibRun parallelRecursive() {
+        return parallelCalculator.runRecursive(n);
+    }
+
+    @Benchmark
+    public FibNode buildRecursiveTree() {
+        return calculator.buildRecursiveTree(n);
+    }
+}
@@ -1,6 +1,9 @@
 module org.example.fibonaccivisualization {
   requires javafx.controls;
   requires javafx.fxml;
+  requires jdk.httpserver;
+  requires jdk.management;
+  requires jdk.jfr;
 
 
   opens org.example.fibonaccivisualization to javafx.fxml;
@@ -0,0 +1,80 @@
+package org.example.fibonaccivisualization.cli;
+
+import org.example.fibonaccivisualization.model.CallTrace;
+import org.example.fibonaccivisualization.model.CancellationToken;
+import org.example.fibonaccivisualization.model.FibEngine;
+import org.example.fibonaccivisualization.model.FibRun;
+import org.example.fibonaccivisualization.model.FibonacciCache;
+import org.example.fibonaccivisualization.model.FibonacciCalculator;
+import org.example.fibonaccivisualization.model.ParallelFibonacciCalculator;
+
+import java.util.Locale;
+
+// Dispatches an engine name to the calculator that implements it. Only touches the model package, never javafx.
+public class EngineRunner {
+    private final FibonacciCalculator calculator;
+    private final ParallelFibonacciCalculator parallelCalculator;
+
+    public EngineRunner() {
+        this(new FibonacciCalculator());
+    }
+
+    private EngineRunner(FibonacciCalculator calculator) {
+        this(calculator, new ParallelFibonacciCalculator(calculator.getStats()));
+    }
+
+    public EngineRunner(FibonacciCalculator calculator, ParallelFibonacciCalculator parallelCalculator) {
+        this.calculator = calculator;
+        this.parallelCalculator = parallelCalculator;
+    }
+
+    public FibonacciCalculator getCalculator() {
+        return calculator;
+    }
+
+    public static FibEngine parseEngine(String name) {
+        try {
+            return FibEngine.valueOf(name.trim().toUpperCase(Locale.ROOT).replace('-', '_'));
+        } catch (IllegalArgumentException e) {
+            throw new IllegalArgumentException("Unknown engine '" + name + "'. Expected one of: " + engineNames());
+        }
+    }
+
+    public static String engineName(FibEngine engine) {
+        return engine.name().toLowerCase(Locale.ROOT).replace('_', '-');
+    }
+
+    public static String engineNames() {
+        StringBuilder names = new StringBuilder();
+        for (FibEngine engine : FibEngine.values()) {
+            if (names.length() > 0) names.append(", ");
+            names.append(engineName(engine));
+        }
+        return names.toString();
+    }
+
+    public static void checkSupported(FibEngine engine, int n) {
+        if (n < 0) {
+            throw new IllegalArgumentException("n must be a non-negative integer, got " + n);
+        }
+        if (engine != FibEngine.FAST_DOUBLING && !FibonacciCache.fitsInLong(n)) {
+            throw new IllegalArgumentException("Engine " + engineName(engine) + " overflows long beyond n = "
+                    + FibonacciCache.MAX_LONG_N + "; use fast-doubling");
+        }
+    }
+
+    public FibRun run(FibEngine engine, int n, CancellationToken token) {
+        checkSupported(engine, n);
+        return switch (engine) {
+            case RECURSIVE -> calculator.runRecursive(n, token);
+            case PARALLEL_RECURSIVE -> parallelCalculator.runRecursive(n, token);
+            case MEMOIZED -> calculator.runMemoized(n, token, CallTrace.DISABLED);
+            case TABULATED -> calculator.runTabulated(n, token);
+            case FAST_DOUBLING -> calculator.runFastDoubling(n, token);
+        };
+    }
+
+    public void shutdown() {
+        parallelCalculator.shutdown();
+    }
+}
@@ -0,0 +1,198 @@
+package org.example.fibonaccivisualization.cli;
+
+import org.example.fibonaccivisualization.metrics.MetricsRegistry;
+import org.example.fibonaccivisualization.model.BatchRun;
+import org.example.fibonaccivisualization.model.CancellationToken;
+import org.example.fibonaccivisualization.model.FibEngine;
+import org.example.fibonaccivisualization.model.FibRun;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.OutputStreamWriter;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+
+// Headless entry point. It only loads model classes, so it runs on machines without a display or JavaFX.
+// Launch it from the class path (the module descriptor requires javafx):
+//   java -cp target/classes org.example.fibonaccivisualization.cli.FibonacciCli --engine fast-doubling --range 0..1000
+public class FibonacciCli {
+    private static final int FLUSH_EVERY_ROWS = 64;
+
+    public static void main(String[] args) {
+        System.exit(run(args));
+    }
+
+    static int run(String[] args) {
+        FibEngine engine = FibEngine.FAST_DOUBLING;
+        boolean engineGiven = false;
+        boolean batch = false;
+        String format = "csv";
+        Path metricsFile = null;
+        List<int[]> ranges = new ArrayList<>();
+        Writer out = new BufferedWriter(new OutputStreamWriter(System.out, StandardCharsets.UTF_8));
+        ResultWriter writer;
+
+        try {
+            for (int i = 0; i < args.length; i++) {
+                switch (args[i]) {
+                    case "-e", "--engine" -> {
+                        engine = EngineRunner.parseEngine(value(args, ++i));
+                        engineGiven = true;
+                    }
+                    case "-b", "--batch" -> batch = true;
+                    case "-f", "--format" -> format = value(args, ++i);
+                    case "-n", "--n" -> {
+                        int n = parseIndex(value(args, ++i));
+                        ranges.add(new int[]{n, n});
+                    }
+                    case "-r", "--range" -> ranges.add(parseRange(value(args, ++i)));
+                    case "-m", "--metrics" -> metricsFile = Path.of(value(args, ++i));
+                    case "-h", "--help" -> {
+                        printUsage();
+                        return 0;
+                    }
+                    default -> {
+                        // Bare numbers and ranges are accepted as positional arguments
+                        ranges.add(args[i].contains("..") ? parseRange(args[i]) : new int[]{parseIndex(args[i]), parseIndex(args[i])});
+                    }
+                }
+            }
+
+            if (ranges.isEmpty()) {
+                throw new IllegalArgumentException("No n given");
+            }
+            if (batch && engineGiven) {
+                throw new IllegalArgumentException("--batch evaluates all n in one shared pass and takes no --engine");
+            }
+            long total = 0;
+            for (int[] range : ranges) {
+                EngineRunner.checkSupported(engine, range[1]);
+                total += (long) range[1] - range[0] + 1;
+            }
+            if (batch && total > Integer.MAX_VALUE - 8) {
+                throw new IllegalArgumentException("--batch holds every answer in memory; ask for fewer n");
+            }
+            writer = batch ? ResultWriter.createForValues(format, out) : ResultWriter.create(format, out);
+        } catch (IllegalArgumentException e) {
+            System.err.println("Error: " + e.getMessage());
+            printUsage();
+            return 2;
+        }
+
+        MetricsRegistry metrics = MetricsRegistry.shared();
+        if (metricsFile != null) {
+            metrics.setEnabled(true);
+        }
+
+        EngineRunner runner = new EngineRunner();
+        try {
+            if (batch) {
+                runBatch(runner, ranges, writer);
+            } else {
+                runEach(runner, engine, ranges, writer, out);
+            }
+            if (metricsFile != null) {
+                metrics.dumpTo(metricsFile);
+            }
+            return 0;
+        } catch (IOException e) {
+            System.err.println("Error writing results: " + e.getMessage());
+            return 1;
+        } finally {
+            runner.shutdown();
+        }
+    }
+
+    private static void runEach(EngineRunner runner, FibEngine engine, List<int[]> ranges, ResultWriter writer,
+                                Writer out) throws IOException {
+        writer.begin();
+        int rows = 0;
+        long computeNanos = 0;
+        for (int[] range : ranges) {
+            for (int n = range[0]; n <= range[1]; n++) {
+                FibRun run = runner.run(engine, n, CancellationToken.NONE);
+                computeNanos += run.elapsedNanos();
+                writer.write(run);
+                if (++rows % FLUSH_EVERY_ROWS == 0) out.flush();
+            }
+        }
+        writer.end();
+
+        // On stderr, so the results on stdout stay machine-readable
+        System.err.printf(Locale.ROOT, "%d results in %.1f ms of compute (%.0f queries/s)%n", rows,
+                computeNanos / 1_000_000.0, BatchRun.queriesPerSecond(rows, computeNanos));
+    }
+
+    // One shared ascending pass over every requested n; the answers come back in the order they were asked
+    private static void runBatch(EngineRunner runner, List<int[]> ranges, ResultWriter writer) throws IOException {
+        int total = 0;
+        for (int[] range : ranges) {
+            total += range[1] - range[0] + 1;
+        }
+        int[] ns = new int[total];
+        int next = 0;
+        for (int[] range : ranges) {
+            for (int n = range[0]; n <= range[1]; n++) {
+                ns[next++] = n;
+            }
+        }
+
+        BatchRun run = runner.getCalculator().batch(ns, CancellationToken.NONE);
+        writer.begin();
+        for (int i = 0; i < ns.length; i++) {
+            writer.write(ns[i], run.values()[i]);
+        }
+        writer.end();
+
+        System.err.printf(Locale.ROOT, "%d results (%d distinct n, %d steps) in %.1f ms of compute (%.0f queries/s)%n",
+                run.queries(), run.distinctIndices(), run.steps(), run.elapsedNanos() / 1_000_000.0,
+                run.queriesPerSecond());
+    }
+
+    private static String value(String[] args, int index) {
+        if (index >= args.length) {
+            throw new IllegalArgumentException("Missing value for " + args[index - 1]);
+        }
+        return args[index];
+    }
+
+    private static int parseIndex(String text) {
+        try {
+            int n = Integer.parseInt(text.trim());
+            if (n < 0) throw new IllegalArgumentException("n must be a non-negative integer, got " + n);
+            return n;
+        } catch (NumberFormatException e) {
+            throw new IllegalArgumentException("Invalid n '" + text + "'");
+        }
+    }
+
+    private static int[] parseRange(String text) {
+        int separator = text.indexOf("..");
+        if (separator < 0) {
+            throw new IllegalArgumentException("Invalid range '" + text + "'. Expected a..b");
+        }
+        int from = parseIndex(text.substring(0, separator));
+        int to = parseIndex(text.substring(separator + 2));
+        if (from > to) {
+            throw new IllegalArgumentException("Invalid range '" + text + "': start is after end");
+        }
+        return new int[]{from, to};
+    }
+
+    private static void printUsage() {
+        System.err.println("""
+                Usage: FibonacciCli [options] [n | a..b]...
+                  -e, --engine NAME   one of: %s (default fast-doubling)
+                  -f, --format FMT    csv or json (default csv)
+                  -n, --n N           compute F(N)
+                  -r, --range A..B    compute F(A) through F(B)
+                  -b, --batch         answer every n in one shared pass; prints n and value only
+                  -m, --metrics FILE  collect per-engine metrics and write them to FILE
+                  -h, --help          show this help
+                """.formatted(EngineRunner.engineNames()));
+    }
+}
@@ -0,0 +1,114 @@
+package org.example.fibonaccivisualization.cli;
+
+import org.example.fibonaccivisualization.model.FibRun;
+
+import java.io.IOException;
+import java.io.Writer;
+import java.math.BigInteger;
+import java.util.Locale;
+
+// Streams FibRun rows as CSV or as a JSON array, one row at a time so long ranges never sit in memory.
+// Batches have no per-index timings or counters, so their writer only has n and value columns.
+public abstract class ResultWriter {
+    protected final Writer out;
+    protected final boolean valuesOnly;
+    private int rows;
+
+    protected ResultWriter(Writer out, boolean valuesOnly) {
+        this.out = out;
+        this.valuesOnly = valuesOnly;
+    }
+
+    public static ResultWriter create(String format, Writer out) {
+        return create(format, out, false);
+    }
+
+    public static ResultWriter createForValues(String format, Writer out) {
+        return create(format, out, true);
+    }
+
+    private static ResultWriter create(String format, Writer out, boolean valuesOnly) {
+        return switch (format.toLowerCase(Locale.ROOT)) {
+            case "csv" -> new Csv(out, valuesOnly);
+            case "json" -> new Json(out, valuesOnly);
+            default -> throw new IllegalArgumentException("Unknown format '" + format + "'. Expected csv or json");
+        };
+    }
+
+    public abstract void begin() throws IOException;
+
+    public void write(FibRun run) throws IOException {
+        if (valuesOnly) throw new IllegalStateException("This writer only takes n and value rows");
+        writeRow(run, rows++);
+    }
+
+    public void write(int n, BigInteger value) throws IOException {
+        if (!valuesOnly) throw new IllegalStateException("This writer takes FibRun rows");
+        writeValue(n, value, rows++);
+    }
+
+    protected abstract void writeRow(FibRun run, int index) throws IOException;
+
+    protected abstract void writeValue(int n, BigInteger value, int index) throws IOException;
+
+    public abstract void end() throws IOException;
+
+    private static final class Csv extends ResultWriter {
+        Csv(Writer out, boolean valuesOnly) {
+            super(out, valuesOnly);
+        }
+
+        @Override
+        public void begin() throws IOException {
+            out.write(valuesOnly ? "n,value\n" : "engine,n,value,nanos,calls,cache_hits\n");
+        }
+
+        @Override
+        protected void writeRow(FibRun run, int index) throws IOException {
+            out.write(EngineRunner.engineName(run.engine()) + "," + run.n() + "," + run.value() + ","
+                    + run.elapsedNanos() + "," + run.calls() + "," + run.cacheHits() + "\n");
+        }
+
+        @Override
+        protected void writeValue(int n, BigInteger value, int index) throws IOException {
+            out.write(n + "," + value + "\n");
+        }
+
+        @Override
+        public void end() throws IOException {
+            out.flush();
+        }
+    }
+
+    private static final class Json extends ResultWriter {
+        Json(Writer out, boolean valuesOnly) {
+            super(out, valuesOnly);
+        }
+
+        @Override
+        public void begin() throws IOException {
+            out.write("[\n");
+        }
+
+        @Override
+        protected void writeRow(FibRun run, int index) throws IOException {
+            if (index > 0) out.write(",\n");
+            // The value is a string because most JSON readers parse numbers as doubles and would lose digits
+            out.write("  {\"engine\":\"" + EngineRunner.engineName(run.engine()) + "\",\"n\":" + run.n()
+                    + ",\"value\":\"" + run.value() + "\",\"nanos\":" + run.elapsedNanos()
+                    + ",\"calls\":" + run.calls() + ",\"cacheHits\":" + run.cacheHits() + "}");
+        }
+
+        @Override
+        protected void writeValue(int n, BigInteger value, int index) throws IOException {
+            if (index > 0) out.write(",\n");
+            out.write("  {\"n\":" + n + ",\"value\":\"" + value + "\"}");
+        }
+
+        @Override
+        public void end() throws IOException {
+            out.write("\n]\n");
+            out.flush();
+        }
+    }
+}
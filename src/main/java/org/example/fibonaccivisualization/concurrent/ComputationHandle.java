@@ -0,0 +1,28 @@
+package org.example.fibonaccivisualization.concurrent;
+
+import org.example.fibonaccivisualization.model.CancellationToken;
+
+import java.util.concurrent.CompletableFuture;
+
+public class ComputationHandle<T> {
+    private final CompletableFuture<T> result;
+    private final CancellationToken token;
+
+    ComputationHandle(CompletableFuture<T> result, CancellationToken token) {
+        this.result = result;
+        this.token = token;
+    }
+
+    public CompletableFuture<T> result() {
+        return result;
+    }
+
+    public boolean isDone() {
+        return result.isDone();
+    }
+
+    public void cancel() {
+        token.cancel();
+        result.cancel(false);
+    }
+}
@@ -0,0 +1,68 @@
+package org.example.fibonaccivisualization.concurrent;
+
+import org.example.fibonaccivisualization.model.CancellationToken;
+
+import java.time.Duration;
+import java.util.concurrent.*;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Function;
+
+public class ComputationScheduler {
+    private final ExecutorService executor;
+    private final ScheduledExecutorService deadlines;
+
+    public ComputationScheduler() {
+        this(Math.max(2, Runtime.getRuntime().availableProcessors() / 2));
+    }
+
+    public ComputationScheduler(int workers) {
+        this.executor = Executors.newFixedThreadPool(workers, daemonThreads("fib-compute-"));
+        this.deadlines = Executors.newSingleThreadScheduledExecutor(daemonThreads("fib-deadline-"));
+    }
+
+    public <T> ComputationHandle<T> submit(Function<CancellationToken, T> task, Duration deadline) {
+        CancellationToken token = new CancellationToken();
+        CompletableFuture<T> result = new CompletableFuture<>();
+
+        Future<?> work = executor.submit(() -> {
+            // Skip the work entirely if the request was cancelled while it sat in the queue
+            if (token.isCancelled()) return;
+
+            // The deadline covers the work itself, not the wait for a free worker
+            ScheduledFuture<?> timeout = deadlines.schedule(
+                    () -> result.completeExceptionally(new TimeoutException("Deadline of " + deadline.toMillis() + " ms exceeded")),
+                    deadline.toMillis(), TimeUnit.MILLISECONDS);
+            result.whenComplete((value, error) -> timeout.cancel(false));
+
+            try {
+                result.complete(task.apply(token));
+            } catch (Throwable t) {
+                result.completeExceptionally(t);
+            }
+        });
+
+        // However the result ends (value, error, cancel or deadline), tell the engine to stop
+        result.whenComplete((value, error) -> {
+            if (error != null) {
+                token.cancel();
+                work.cancel(false);
+            }
+        });
+
+        return new ComputationHandle<>(result, token);
+    }
+
+    public void shutdown() {
+        executor.shutdownNow();
+        deadlines.shutdownNow();
+    }
+
+    private static ThreadFactory daemonThreads(String prefix) {
+        AtomicInteger counter = new AtomicInteger();
+        return runnable -> {
+            Thread thread = new Thread(runnable, prefix + counter.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        };
+    }
+}
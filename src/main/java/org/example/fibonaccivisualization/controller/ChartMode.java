@@ -0,0 +1,36 @@
+package org.example.fibonaccivisualization.controller;
+
+import org.example.fibonaccivisualization.model.ComplexitySweep;
+
+import java.util.function.ToLongFunction;
+
+// What the growth chart tab shows: F(n) itself, or one measured cost from the last complexity sweep
+public enum ChartMode {
+    GROWTH("F(n) growth", "F(n)", null),
+    TIME("Time per run", "time (ns)", ComplexitySweep.Point::nanos),
+    CALLS("Function calls", "calls", ComplexitySweep.Point::calls),
+    ALLOCATION("Allocated bytes", "bytes allocated", ComplexitySweep.Point::allocatedBytes);
+
+    private final String displayName;
+    private final String axisLabel;
+    private final ToLongFunction<ComplexitySweep.Point> metric;
+
+    ChartMode(String displayName, String axisLabel, ToLongFunction<ComplexitySweep.Point> metric) {
+        this.displayName = displayName;
+        this.axisLabel = axisLabel;
+        this.metric = metric;
+    }
+
+    public String getAxisLabel() {
+        return axisLabel;
+    }
+
+    ToLongFunction<ComplexitySweep.Point> getMetric() {
+        return metric;
+    }
+
+    @Override
+    public String toString() {
+        return displayName;
+    }
+}
@@ -1,22 +1,70 @@
 package org.example.fibonaccivisualization.controller;
 
 import javafx.application.Platform;
+import javafx.collections.FXCollections;
 import javafx.event.ActionEvent;
 import javafx.scene.chart.LineChart;
 import javafx.scene.chart.XYChart;
 import javafx.scene.control.*;
-import org.example.fibonaccivisualization.model.FibNode;
+import org.example.fibonaccivisualization.concurrent.ComputationHandle;
+import org.example.fibonaccivisualization.concurrent.ComputationScheduler;
+import org.example.fibonaccivisualization.metrics.MetricsRegistry;
+import org.example.fibonaccivisualization.model.AllocationMeter;
+import org.example.fibonaccivisualization.model.CallTrace;
+import org.example.fibonaccivisualization.model.CancellationToken;
+import org.example.fibonaccivisualization.model.ComplexitySweep;
+import org.example.fibonaccivisualization.model.FibEngine;
 import org.example.fibonaccivisualization.model.FibonacciCalculator;
+import org.example.fibonaccivisualization.model.FibRun;
+import org.example.fibonaccivisualization.model.FibonacciCache;
+import org.example.fibonaccivisualization.model.FibonacciGrowth;
+import org.example.fibonaccivisualization.model.GrowthFit;
+import org.example.fibonaccivisualization.model.ModularRun;
+import org.example.fibonaccivisualization.model.ParallelFibonacciCalculator;
+import org.example.fibonaccivisualization.model.PisanoPeriods;
+import org.example.fibonaccivisualization.model.RecursionDag;
+import org.example.fibonaccivisualization.model.RecursionTreeStream;
+import org.example.fibonaccivisualization.model.SeriesDownsampler;
+import org.example.fibonaccivisualization.model.TimingHarness;
+import org.example.fibonaccivisualization.model.TimingHarness.Measured;
+import org.example.fibonaccivisualization.model.TimingStats;
 import org.example.fibonaccivisualization.view.MemoizationPane;
 import org.example.fibonaccivisualization.view.TabulationPane;
 import org.example.fibonaccivisualization.view.TreePane;
 
+import java.math.BigInteger;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.List;
 import java.util.Map;
-import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeoutException;
+import java.util.function.Consumer;
+import java.util.function.Function;
+import java.util.function.ToDoubleFunction;
 
 public class FibonacciController {
+    private static final int MAX_LONG_N = 92;
+    private static final int MAX_BIG_N = 20_000_000;
+    private static final int FULL_DIGITS_BIT_LIMIT = 3_000;
+    private static final int PARALLEL_MIN_N = 1_000_000;
+    // F(22) expands to about 57k calls; the tree pane only materializes the ones in view
+    private static final int MAX_TREE_N = 22;
+    private static final int TREE_STREAM_CAPACITY = 4_096;
+    private static final int MEMO_TRACE_EVENTS = 1 << 20;
+    private static final int CHART_MAX_N = 1_000_000;
+    private static final int CHART_MIN_POINTS = 100;
+    private static final int CHART_SYMBOL_LIMIT = 200;
+    private static final int DEFAULT_GROWTH_N = 20;
+    private static final int SWEEP_MAX_RECURSIVE_N = 30;
+    private static final Duration DEFAULT_DEADLINE = Duration.ofSeconds(30);
+    private static final Duration SLOW_DEADLINE = Duration.ofMinutes(2);
+    private static final int COMPARE_WARMUP_ITERATIONS = 10;
+    private static final int COMPARE_MEASUREMENT_ITERATIONS = 30;
+    private static final Duration COMPARE_BUDGET_PER_ENGINE = Duration.ofSeconds(5);
+
     private final TextField inputField;
+    private final TextField modulusField;
     private final TextArea resultArea;
     private final LineChart<Number, Number> chart;
     private final TreePane treePane;
@@ -24,11 +72,19 @@ public class FibonacciController {
     private final TabulationPane tabPane;
     private final TabPane visualizationTabPane;
     private final FibonacciCalculator calculator;
-
-    public FibonacciController(TextField inputField, TextArea resultArea, LineChart<Number, Number> chart,
-                               TreePane treePane, MemoizationPane memoPane, TabulationPane tabPane,
-                               TabPane visualizationTabPane) {
+    private final ParallelFibonacciCalculator parallelCalculator;
+    private final ComputationScheduler scheduler;
+    private final MetricsRegistry metrics = MetricsRegistry.shared();
+    private ComputationHandle<?> currentComputation;
+    private ChartMode chartMode = ChartMode.GROWTH;
+    private int lastGrowthN = DEFAULT_GROWTH_N;
+    private Map<FibEngine, List<ComplexitySweep.Point>> lastSweep;
+
+    public FibonacciController(TextField inputField, TextField modulusField, TextArea resultArea,
+                               LineChart<Number, Number> chart, TreePane treePane, MemoizationPane memoPane,
+                               TabulationPane tabPane, TabPane visualizationTabPane) {
         this.inputField = inputField;
+        this.modulusField = modulusField;
         this.resultArea = resultArea;
         this.chart = chart;
         this.treePane = treePane;
@@ -36,6 +92,11 @@ public class FibonacciController {
         this.tabPane = tabPane;
         this.visualizationTabPane = visualizationTabPane;
         this.calculator = new FibonacciCalculator();
+        this.parallelCalculator = new ParallelFibonacciCalculator(calculator.getStats());
+        // The GUI reports memory for every run; the CLI, server and benchmarks leave it off
+        calculator.setMeasureMemory(true);
+        parallelCalculator.setMeasureMemory(true);
+        this.scheduler = new ComputationScheduler();
     }
 
     public void handleRecursiveAction(ActionEvent event) {
@@ -46,44 +107,44 @@ public class FibonacciController {
         resultArea.clear();
         resultArea.appendText("Calculating Fibonacci(" + n + ") using recursive approach...\n\n");
 
-        // Use a CompletableFuture to handle the computation in a separate thread
-        CompletableFuture.supplyAsync(() -> {
-            // For visualization, we don't want to create too large trees
-            if (n > 12) {
-                resultArea.appendText("Note: Tree visualization is limited to n <= 12 due to exponential growth.\n");
-                resultArea.appendText("Calculating result without tree visualization...\n\n");
-                long start = System.currentTimeMillis();
-                long result = calculator.recursive(n);
-                long timeTaken = System.currentTimeMillis() - start;
-                return new Object[]{result, timeTaken, null};
-            } else {
-                long start = System.currentTimeMillis();
-                FibNode root = calculator.buildRecursiveTree(n);
-                long timeTaken = System.currentTimeMillis() - start;
-                return new Object[]{root.result, timeTaken, root};
-            }
-        }).thenAcceptAsync(result -> {
-            long fibResult = (long) result[0];
-            long timeTaken = (long) result[1];
-            FibNode root = (FibNode) result[2];
-
-            resultArea.appendText("Result: F(" + n + ") = " + fibResult + "\n");
-            resultArea.appendText("Time taken: " + timeTaken + " ms\n");
-            resultArea.appendText("Number of recursive calls: " + calculator.getRecursionCount() + "\n");
+        boolean drawTree = n <= MAX_TREE_N;
+        if (!drawTree) {
+            resultArea.appendText("Note: Tree visualization is limited to n <= " + MAX_TREE_N
+                    + " due to exponential growth.\n");
+            resultArea.appendText("Calculating result without tree visualization...\n\n");
+        }
+
+        // Run the computation on the scheduler so it can be cancelled or time out
+        startComputation("recursive", n, token -> calculator.runRecursiveTree(n, token), SLOW_DEADLINE, run -> {
+            RecursionDag dag = run.tree();
+
+            resultArea.appendText("Result: F(" + n + ") = " + run.value() + "\n");
+            resultArea.appendText("Time taken: " + run.elapsedMillis() + " ms\n");
+            resultArea.appendText("Memory: " + formatBytes(run.allocatedBytes()) + " allocated, "
+                    + formatBytes(run.retainedBytes()) + " retained by the result\n");
+            resultArea.appendText("Number of recursive calls: " + run.calls() + "\n");
+            resultArea.appendText("Recursion tree: " + dag.getTotalCalls() + " calls over " + dag.getNodeCount()
+                    + " shared subproblem nodes\n");
             resultArea.appendText("Time complexity: O(2^n)\n");
             resultArea.appendText("Space complexity: O(n) for the call stack\n");
 
             // Update chart with this single point
-            updateChart("Recursive", n, fibResult);
-
-            // Show the tree visualization if we generated it
-            if (root != null) {
-                Platform.runLater(() -> {
-                    treePane.drawTree(root);
-                    visualizationTabPane.getSelectionModel().select(0); // Select the tree tab
+            updateChart("Recursive", n, run.longValue());
+
+            // Stream the tree into the view; the producer is the current computation so Cancel stops it too
+            if (drawTree) {
+                RecursionTreeStream stream = new RecursionTreeStream(dag, TREE_STREAM_CAPACITY);
+                treePane.streamTree(stream);
+                visualizationTabPane.getSelectionModel().select(0); // Select the tree tab
+                currentComputation = scheduler.submit(stream::produce, SLOW_DEADLINE);
+                // However the producer is stopped (Cancel, a newer request, the deadline, or before it even
+                // started), end the stream so the view stops waiting for nodes
+                currentComputation.result().whenComplete((emitted, error) -> {
+                    if (error != null) stream.close();
                 });
+                resultArea.appendText("Tree view: streaming " + stream.getTotalNodes() + " nodes\n");
             }
-        }, Platform::runLater);
+        });
     }
 
     public void handleMemoAction(ActionEvent event) {
@@ -94,41 +155,36 @@ public class FibonacciController {
         resultArea.clear();
         resultArea.appendText("Calculating Fibonacci(" + n + ") using memoization...\n\n");
 
-        // Use a CompletableFuture to handle the computation in a separate thread
-        CompletableFuture.supplyAsync(() -> {
-            long start = System.currentTimeMillis();
-            long result = calculator.memoized(n);
-            long timeTaken = System.currentTimeMillis() - start;
-
-            // Get the memo table for visualization
-            Map<Integer, Long> memoTable = calculator.getMemoizedWithVisualization(n);
-            List<Integer> callOrder = calculator.getMemoizationCallOrder();
-            Map<Integer, Integer> callCounts = calculator.getCallCounts();
-
-            return new Object[]{result, timeTaken, memoTable, callOrder, callCounts};
-        }).thenAcceptAsync(result -> {
-            long fibResult = (long) result[0];
-            long timeTaken = (long) result[1];
-            Map<Integer, Long> memoTable = (Map<Integer, Long>) result[2];
-            List<Integer> callOrder = (List<Integer>) result[3];
-            Map<Integer, Integer> callCounts = (Map<Integer, Integer>) result[4];
-
-            resultArea.appendText("Result: F(" + n + ") = " + fibResult + "\n");
-            resultArea.appendText("Time taken: " + timeTaken + " ms\n");
-            resultArea.appendText("Total function calls: " + calculator.getTotalCalls() + "\n");
-            resultArea.appendText("Cache hits: " + calculator.getCacheHits() + "\n");
+        // Run the computation on the scheduler so it can be cancelled or time out
+        startComputation("memoized", n, token -> {
+            // Stamping every event costs more than the engine itself, so the reported time comes from an untraced
+            // run and the view's per-event timestamps from a second, traced one
+            FibRun timed = calculator.runMemoized(n, token, CallTrace.DISABLED);
+            FibRun traced = calculator.runMemoized(n, token, new CallTrace(MEMO_TRACE_EVENTS, true));
+            return new FibRun[]{timed, traced};
+        }, DEFAULT_DEADLINE, runs -> {
+            FibRun run = runs[0];
+            CallTrace trace = runs[1].trace();
+            resultArea.appendText("Result: F(" + n + ") = " + run.value() + "\n");
+            resultArea.appendText("Time taken: " + run.elapsedMillis() + " ms\n");
+            resultArea.appendText("Memory: " + formatBytes(run.allocatedBytes()) + " allocated, "
+                    + formatBytes(run.retainedBytes()) + " retained by the result\n");
+            resultArea.appendText("Total function calls: " + run.calls() + "\n");
+            resultArea.appendText("Cache hits: " + run.cacheHits() + "\n");
+            resultArea.appendText("Trace: " + trace.getRecordedCount() + " events"
+                    + (trace.getDroppedCount() > 0 ? " (oldest " + trace.getDroppedCount() + " dropped)" : "") + "\n");
             resultArea.appendText("Time complexity: O(n)\n");
             resultArea.appendText("Space complexity: O(n) for the memoization table\n");
 
             // Update chart with this single point
-            updateChart("Memoization", n, fibResult);
+            updateChart("Memoization", n, run.longValue());
 
             // Show the memoization visualization
             Platform.runLater(() -> {
-                memoPane.visualizeMemoization(memoTable, callOrder, callCounts);
+                memoPane.visualizeMemoization(runs[1].memoTable(), trace);
                 visualizationTabPane.getSelectionModel().select(1); // Select the memoization tab
             });
-        }, Platform::runLater);
+        });
     }
 
     public void handleTabulationAction(ActionEvent event) {
@@ -139,154 +195,207 @@ public class FibonacciController {
         resultArea.clear();
         resultArea.appendText("Calculating Fibonacci(" + n + ") using tabulation (bottom-up)...\n\n");
 
-        // Use a CompletableFuture to handle the computation in a separate thread
-        CompletableFuture.supplyAsync(() -> {
-            long start = System.currentTimeMillis();
-            long result = calculator.tabulated(n);
-            long timeTaken = System.currentTimeMillis() - start;
-
-            // Get the DP table for visualization
-            List<Long> dpTable = calculator.getTabulatedWithSteps(n);
-
-            return new Object[]{result, timeTaken, dpTable};
-        }).thenAcceptAsync(result -> {
-            long fibResult = (long) result[0];
-            long timeTaken = (long) result[1];
-            List<Long> dpTable = (List<Long>) result[2];
-
-            resultArea.appendText("Result: F(" + n + ") = " + fibResult + "\n");
-            resultArea.appendText("Time taken: " + timeTaken + " ms\n");
+        // Run the computation on the scheduler so it can be cancelled or time out
+        startComputation("tabulated", n, token -> calculator.runTabulated(n, token), DEFAULT_DEADLINE, run -> {
+            resultArea.appendText("Result: F(" + n + ") = " + run.value() + "\n");
+            resultArea.appendText("Time taken: " + run.elapsedMillis() + " ms\n");
+            resultArea.appendText("Memory: " + formatBytes(run.allocatedBytes()) + " allocated, "
+                    + formatBytes(run.retainedBytes()) + " retained by the result\n");
             resultArea.appendText("Time complexity: O(n)\n");
-            resultArea.appendText("Space complexity: O(n) for the dp table\n");
+            resultArea.appendText("Space complexity: O(1) with two rolling values (O(n) to keep the dp table)\n");
 
             // Update chart with this single point
-            updateChart("Tabulation", n, fibResult);
+            updateChart("Tabulation", n, run.longValue());
 
             // Show the tabulation visualization
             Platform.runLater(() -> {
-                tabPane.visualizeTabulation(dpTable);
+                // The pane pulls F(0..n) lazily instead of receiving a materialized table
+                tabPane.visualizeTabulation(calculator.tabulatedIterator(n));
                 visualizationTabPane.getSelectionModel().select(2); // Select the tabulation tab
             });
-        }, Platform::runLater);
+        });
     }
 
-    public void handleCompareAction(ActionEvent event) {
-        int n = validateInput();
+    public void handleFastDoublingAction(ActionEvent event) {
+        int n = validateInput(MAX_BIG_N);
         if (n < 0) return;
 
         // Clear previous results
         resultArea.clear();
-        resultArea.appendText("Comparing all three approaches for Fibonacci(" + n + ")...\n\n");
-
-        // Use a CompletableFuture to handle the computation in a separate thread
-        CompletableFuture.supplyAsync(() -> {
-            // For recursive, we'll limit to smaller n due to exponential growth
-            long recursiveResult;
-            long recursiveTime;
-            int recursiveCalls;
-
-            if (n <= 40) {
-                long start = System.currentTimeMillis();
-                recursiveResult = calculator.recursive(n);
-                recursiveTime = System.currentTimeMillis() - start;
-                recursiveCalls = calculator.getRecursionCount();
-            } else {
-                recursiveResult = -1; // Too large for recursive
-                recursiveTime = -1;
-                recursiveCalls = -1;
+        resultArea.appendText("Calculating Fibonacci(" + n + ") using fast doubling (arbitrary precision)...\n\n");
+
+        // Run the computation on the scheduler so it can be cancelled or time out
+        startComputation("fast-doubling", n, token -> {
+            FibRun run = calculator.runFastDoubling(n, token);
+
+            // Multiplying multi-million digit numbers is where the parallel engine pays off
+            ParallelFibonacciCalculator.SpeedupReport speedup = null;
+            if (n >= PARALLEL_MIN_N) {
+                // Same warmup and median method as the compare table
+                TimingHarness harness = new TimingHarness(COMPARE_WARMUP_ITERATIONS, COMPARE_MEASUREMENT_ITERATIONS,
+                        COMPARE_BUDGET_PER_ENGINE);
+                speedup = parallelCalculator.measureSpeedup(n, calculator, harness, token);
             }
 
-            // Memoization
-            calculator.resetCounters();
-            long memoStart = System.currentTimeMillis();
-            long memoResult = calculator.memoized(n);
-            long memoTime = System.currentTimeMillis() - memoStart;
-            int totalCalls = calculator.getTotalCalls();
-            int cacheHits = calculator.getCacheHits();
-
-            // Tabulation
-            long tabStart = System.currentTimeMillis();
-            long tabResult = calculator.tabulated(n);
-            long tabTime = System.currentTimeMillis() - tabStart;
-
-            return new Object[]{
-                    recursiveResult, recursiveTime, recursiveCalls,
-                    memoResult, memoTime, totalCalls, cacheHits,
-                    tabResult, tabTime
-            };
-        }).thenAcceptAsync(result -> {
-            long recursiveResult = (long) result[0];
-            long recursiveTime = (long) result[1];
-            int recursiveCalls = (int) result[2];
-            long memoResult = (long) result[3];
-            long memoTime = (long) result[4];
-            int totalCalls = (int) result[5];
-            int cacheHits = (int) result[6];
-            long tabResult = (long) result[7];
-            long tabTime = (long) result[8];
-
-            // Display results in a comparison table
-            resultArea.appendText("╔════════════════════╦════════════════╦════════════════╦════════════════╗\n");
-            resultArea.appendText("║ Metric             ║ Recursive      ║ Memoization    ║ Tabulation     ║\n");
-            resultArea.appendText("╠════════════════════╬════════════════╬════════════════╬════════════════╣\n");
-
-            // Result row
-            resultArea.appendText("║ Result F(" + n + ")      ║ ");
-            if (recursiveResult == -1) {
-                resultArea.appendText("Too large      ║ ");
-            } else {
-                resultArea.appendText(padRight(String.valueOf(recursiveResult), 14) + " ║ ");
+            return new Object[]{run, speedup};
+        }, SLOW_DEADLINE, result -> {
+            FibRun run = (FibRun) result[0];
+            ParallelFibonacciCalculator.SpeedupReport speedup = (ParallelFibonacciCalculator.SpeedupReport) result[1];
+
+            resultArea.appendText("Result: F(" + n + ") = " + formatBig(run.value()) + "\n");
+            resultArea.appendText("Digits: " + digitCount(run.value()) + "\n");
+            resultArea.appendText("Time taken: " + run.elapsedMillis() + " ms\n");
+            resultArea.appendText("Memory: " + formatBytes(run.allocatedBytes()) + " allocated, "
+                    + formatBytes(run.retainedBytes()) + " retained by the result\n");
+            resultArea.appendText("Doubling steps: " + run.calls() + " (3 multiplications each)\n");
+            resultArea.appendText("Time complexity: O(log n) multiplications\n");
+            resultArea.appendText("Space complexity: O(n) bits for the result\n");
+
+            FibonacciCache cache = calculator.getCache();
+            resultArea.appendText("Value cache: " + cache.getHits() + " hits, " + cache.getMisses() + " misses, "
+                    + cache.getEvictions() + " evictions, " + cache.getCurrentBytes() / 1024 + " / "
+                    + cache.getMaxBytes() / 1024 + " KiB\n");
+
+            if (speedup != null) {
+                resultArea.appendText("\nParallel (fork/join Karatsuba) on " + speedup.parallelism() + " threads:\n");
+                resultArea.appendText("Single-threaded: " + speedup.sequentialNanos() / 1_000_000 + " ms (median of "
+                        + speedup.sequential().samples() + " runs)\n");
+                resultArea.appendText("Parallel: " + speedup.parallelNanos() / 1_000_000 + " ms (median of "
+                        + speedup.parallel().samples() + " runs)\n");
+                resultArea.appendText(String.format("Speedup: %.2fx%n", speedup.speedup()));
             }
-            resultArea.appendText(padRight(String.valueOf(memoResult), 14) + " ║ ");
-            resultArea.appendText(padRight(String.valueOf(tabResult), 14) + " ║\n");
 
-            // Time row
-            resultArea.appendText("║ Time (ms)          ║ ");
-            if (recursiveTime == -1) {
-                resultArea.appendText("Too slow       ║ ");
-            } else {
-                resultArea.appendText(padRight(String.valueOf(recursiveTime), 14) + " ║ ");
+            // Only plot values that still fit the chart's numeric axis
+            if (n <= MAX_LONG_N) {
+                updateChart("Fast Doubling", n, run.longValue());
             }
-            resultArea.appendText(padRight(String.valueOf(memoTime), 14) + " ║ ");
-            resultArea.appendText(padRight(String.valueOf(tabTime), 14) + " ║\n");
+        });
+    }
 
-            // Function calls row
-            resultArea.appendText("║ Function calls     ║ ");
-            if (recursiveCalls == -1) {
-                resultArea.appendText("N/A            ║ ");
-            } else {
-                resultArea.appendText(padRight(String.valueOf(recursiveCalls), 14) + " ║ ");
-            }
-            resultArea.appendText(padRight(String.valueOf(totalCalls), 14) + " ║ ");
-            resultArea.appendText(padRight("N/A", 14) + " ║\n");
+    public void handleCompareAction(ActionEvent event) {
+        int n = validateInput(MAX_BIG_N);
+        if (n < 0) return;
+        // The modulus is optional here; when given, every engine's result is also shown reduced by it
+        long modulus = modulusField.getText().isBlank() ? 0 : validateModulus();
+        if (modulus < 0) return;
 
-            // Cache hits row
-            resultArea.appendText("║ Cache hits         ║ ");
-            resultArea.appendText(padRight("N/A", 14) + " ║ ");
-            resultArea.appendText(padRight(String.valueOf(cacheHits), 14) + " ║ ");
-            resultArea.appendText(padRight("N/A", 14) + " ║\n");
+        // Clear previous results
+        resultArea.clear();
+        resultArea.appendText("Comparing all approaches for Fibonacci(" + n + ")...\n\n");
 
-            // Time complexity row
-            resultArea.appendText("║ Time complexity    ║ ");
-            resultArea.appendText(padRight("O(2^n)", 14) + " ║ ");
-            resultArea.appendText(padRight("O(n)", 14) + " ║ ");
-            resultArea.appendText(padRight("O(n)", 14) + " ║\n");
+        // Run the computation on the scheduler so it can be cancelled or time out
+        startComputation("compare", n, token -> {
+            // Each engine gets warmup runs and several timed samples instead of one cold measurement
+            TimingHarness harness = new TimingHarness(COMPARE_WARMUP_ITERATIONS, COMPARE_MEASUREMENT_ITERATIONS,
+                    COMPARE_BUDGET_PER_ENGINE);
 
-            // Space complexity row
-            resultArea.appendText("║ Space complexity   ║ ");
-            resultArea.appendText(padRight("O(n)", 14) + " ║ ");
-            resultArea.appendText(padRight("O(n)", 14) + " ║ ");
-            resultArea.appendText(padRight("O(n)", 14) + " ║\n");
+            // For recursive, we'll limit to smaller n due to exponential growth
+            Measured<FibRun> recursive = n <= 40 ? harness.measure(() -> calculator.runRecursive(n, token)) : null;
+            Measured<FibRun> parallel = n <= 40 ? harness.measure(() -> parallelCalculator.runRecursive(n, token)) : null;
+
+            // Memoization and tabulation overflow long beyond F(92)
+            Measured<FibRun> memo = n <= MAX_LONG_N ? harness.measure(() -> calculator.runMemoized(n, token, CallTrace.DISABLED)) : null;
+            Measured<FibRun> tab = n <= MAX_LONG_N ? harness.measure(() -> calculator.runTabulated(n, token)) : null;
+
+            Measured<FibRun> fast = harness.measure(() -> calculator.runFastDoubling(n, token));
+
+            Measured<ModularRun> modular = modulus > 0 ? harness.measure(() -> calculator.runModular(n, modulus, token)) : null;
+
+            // Skipped engines stay in the list as null so every column keeps its position
+            return new Comparison(Arrays.asList(recursive, parallel, memo, tab, fast), modular);
+        }, SLOW_DEADLINE, comparison -> {
+            List<Measured<FibRun>> columns = comparison.columns();
+            Measured<ModularRun> modular = comparison.modular();
+            Measured<FibRun> recursive = columns.get(0);
+            Measured<FibRun> parallel = columns.get(1);
+            Measured<FibRun> memo = columns.get(2);
+            Measured<FibRun> tab = columns.get(3);
+            Measured<FibRun> fast = columns.get(4);
+            boolean overflow = n > MAX_LONG_N;
+            String skipped = overflow ? "Overflow" : "Too large";
+            BigInteger fastValue = fast.lastResult().value();
 
-            resultArea.appendText("╚════════════════════╩════════════════╩════════════════╩════════════════╝\n\n");
+            // Display results in a comparison table
+            appendTableBorder('╔', '╦', '╗', columns.size());
+            appendTableRow("Metric", "Recursive", "Parallel Rec.", "Memoization", "Tabulation", "Fast Doubling");
+            appendTableBorder('╠', '╬', '╣', columns.size());
+
+            appendTableRow("Result F(" + n + ")",
+                    recursive == null ? "Too large" : recursive.lastResult().value().toString(),
+                    parallel == null ? "Too large" : parallel.lastResult().value().toString(),
+                    memo == null ? skipped : memo.lastResult().value().toString(),
+                    tab == null ? skipped : tab.lastResult().value().toString(),
+                    fastValue.bitLength() < 63 ? fastValue.toString() : digitCount(fastValue) + " digits");
+
+            if (modular != null) {
+                BigInteger m = BigInteger.valueOf(modulus);
+                appendTableRow("Result mod m", columns.stream()
+                        .map(c -> c == null ? "N/A" : c.lastResult().value().mod(m).toString())
+                        .toArray(String[]::new));
+            }
+
+            appendTimingRow("Mean (µs)", columns, stats -> stats.meanNanos());
+            appendTimingRow("p50 (µs)", columns, stats -> stats.p50Nanos());
+            appendTimingRow("p99 (µs)", columns, stats -> stats.p99Nanos());
+            appendTimingRow("Std dev (µs)", columns, stats -> stats.stdDevNanos());
+
+            appendTableRow("Samples (warmup)", columns.stream()
+                    .map(m -> m == null ? "N/A" : m.stats().samples() + " (" + m.stats().warmupIterations() + ")")
+                    .toArray(String[]::new));
+
+            appendTableRow("Speedup vs rec.", columns.stream()
+                    .map(m -> speedup(recursive, m))
+                    .toArray(String[]::new));
+
+            // Fast doubling makes no recursive calls; its count is the number of doubling steps
+            appendTableRow("Function calls",
+                    recursive == null ? "N/A" : String.valueOf(recursive.lastResult().calls()),
+                    parallel == null ? "N/A" : String.valueOf(parallel.lastResult().calls()),
+                    memo == null ? "N/A" : String.valueOf(memo.lastResult().calls()),
+                    "N/A",
+                    fast.lastResult().calls() + " steps");
+
+            // Measured on the thread that ran each engine; the parallel engine's pool threads are not included
+            appendTableRow("Allocated", columns.stream()
+                    .map(m -> m == null ? "N/A" : formatBytes(m.lastResult().allocatedBytes()))
+                    .toArray(String[]::new));
+            appendTableRow("Retained (est.)", columns.stream()
+                    .map(m -> m == null ? "N/A" : formatBytes(m.lastResult().retainedBytes()))
+                    .toArray(String[]::new));
+
+            appendTableRow("Cache hits",
+                    "N/A",
+                    "N/A",
+                    memo == null ? "N/A" : String.valueOf(memo.lastResult().cacheHits()),
+                    "N/A",
+                    "N/A");
+
+            appendTableRow("Time complexity", "O(2^n)", "O(2^n / p)", "O(n)", "O(n)", "O(log n)");
+            appendTableRow("Space complexity", "O(n)", "O(n)", "O(n)", "O(1)", "O(n) bits");
+
+            appendTableBorder('╚', '╩', '╝', columns.size());
+            resultArea.appendText("Allocated is per run on the computing thread (Parallel Rec.: the calling thread only).\n");
+            resultArea.appendText("Retained estimates what the result keeps alive: value, memo table, tree and trace.\n");
+            resultArea.appendText("\n");
+
+            if (modular != null) {
+                ModularRun run = modular.lastResult();
+                boolean agrees = fastValue.mod(BigInteger.valueOf(modulus)).longValue() == run.value();
+                resultArea.appendText(String.format("Modular engine: F(%d) mod %d = %d, p50 %.1f µs, %s%n", n, modulus,
+                        run.value(), modular.stats().p50Nanos() / 1_000.0,
+                        agrees ? "matches fast doubling" : "DOES NOT match fast doubling"));
+                resultArea.appendText("\n");
+            }
 
             resultArea.appendText("Conclusion: ");
             if (n <= 10) {
-                resultArea.appendText("For small values of n, all three approaches are viable.\n");
+                resultArea.appendText("For small values of n, all approaches are viable.\n");
             } else if (n <= 40) {
                 resultArea.appendText("For medium values of n, memoization and tabulation are significantly more efficient.\n");
-            } else {
+            } else if (!overflow) {
                 resultArea.appendText("For large values of n, only memoization and tabulation are feasible due to the exponential growth of recursive calls.\n");
+            } else {
+                resultArea.appendText("Beyond F(" + MAX_LONG_N + ") the result no longer fits in a long; only the arbitrary-precision fast doubling engine can compute it.\n");
             }
 
             // Update chart with comparative series
@@ -296,10 +405,158 @@ public class FibonacciController {
             Platform.runLater(() -> {
                 visualizationTabPane.getSelectionModel().select(3); // Select the chart tab
             });
+        });
+    }
+
+    public void handleModularAction(ActionEvent event) {
+        long n = validateLongInput();
+        if (n < 0) return;
+        long modulus = validateModulus();
+        if (modulus < 0) return;
+
+        // Clear previous results
+        resultArea.clear();
+        resultArea.appendText("Calculating Fibonacci(" + n + ") mod " + modulus + " using modular fast doubling...\n\n");
+
+        startComputation("modular", n, token -> calculator.runModular(n, modulus, token), DEFAULT_DEADLINE, run -> {
+            resultArea.appendText("Result: F(" + n + ") mod " + modulus + " = " + run.value() + "\n");
+            if (run.isPeriodKnown()) {
+                resultArea.appendText("Pisano period: " + run.period() + (run.periodCached() ? " (cached)" : "") + "\n");
+                resultArea.appendText("Reduced to: F(" + run.reducedN() + ") mod " + modulus + "\n");
+            } else {
+                resultArea.appendText("Pisano period: unknown (modulus too hard to factor or period too large), n not reduced\n");
+            }
+            resultArea.appendText(String.format("Time taken: %.1f µs%n", run.elapsedNanos() / 1_000.0));
+            resultArea.appendText("Doubling steps: " + run.calls() + " (3 modular multiplications each)\n");
+            resultArea.appendText("Time complexity: O(log n) multiplications, each O(1) or O(log m) above ~3*10^9\n");
+            resultArea.appendText("Space complexity: O(1)\n");
+
+            PisanoPeriods periods = calculator.getPisanoPeriods();
+            resultArea.appendText("Period cache: " + periods.getHits() + " hits, " + periods.getMisses() + " misses, "
+                    + periods.size() + " moduli\n");
+        });
+    }
+
+    public void handleSweepAction(ActionEvent event) {
+        resultArea.clear();
+        resultArea.appendText("Sweeping n = 1.." + MAX_LONG_N + " for every engine (recursive up to n = "
+                + SWEEP_MAX_RECURSIVE_N + ")...\n\n");
+
+        startComputation("sweep", MAX_LONG_N,
+                token -> new ComplexitySweep(calculator, MAX_LONG_N, SWEEP_MAX_RECURSIVE_N).run(token),
+                SLOW_DEADLINE, sweep -> {
+            lastSweep = sweep;
+
+            // Summarize the fitted growth per metric; the curves themselves go on the chart
+            for (ChartMode mode : ChartMode.values()) {
+                if (mode.getMetric() == null) continue;
+                resultArea.appendText("Fitted " + mode.getAxisLabel() + ":\n");
+                sweep.forEach((engine, points) -> {
+                    GrowthFit fit = fitTail(points, mode);
+                    resultArea.appendText("  " + padRight(engine.getDisplayName(), 16)
+                            + (fit == null ? "no non-zero samples" : fit.describe()) + "\n");
+                });
+            }
+            if (!AllocationMeter.isSupported()) {
+                resultArea.appendText("\nThis JVM does not report per-thread allocation; allocated bytes are unavailable.\n");
+            }
+
+            if (chartMode != ChartMode.GROWTH) {
+                plotSweep(chartMode);
+            }
+            visualizationTabPane.getSelectionModel().select(3); // Select the chart tab
+        });
+    }
+
+    public void setChartMode(ChartMode mode) {
+        chartMode = mode;
+        if (mode == ChartMode.GROWTH) {
+            updateChartWithAllValues(lastGrowthN);
+        } else if (lastSweep == null) {
+            chart.getData().clear();
+            resultArea.appendText("\nRun a complexity sweep to plot " + mode.getAxisLabel() + ".\n");
+        } else {
+            plotSweep(mode);
+        }
+    }
+
+    public void handleMetricsAction(ActionEvent event) {
+        resultArea.clear();
+        if (!metrics.isEnabled()) {
+            // Collection starts on first use, so runs before this point are not in the registry
+            metrics.setEnabled(true);
+            resultArea.appendText("Metrics collection is now on. Run some computations, then press Metrics again.\n");
+            resultArea.appendText("JFR events are recorded independently: start the app with -XX:StartFlightRecording.\n");
+            return;
+        }
+        resultArea.appendText(metrics.dump());
+    }
+
+    public void handleCancelAction(ActionEvent event) {
+        if (currentComputation == null || currentComputation.isDone()) return;
+
+        currentComputation.cancel();
+        currentComputation = null;
+        treePane.stopStreaming();
+        resultArea.appendText("\nComputation cancelled.\n");
+    }
+
+    private <T> void startComputation(String action, long n, Function<CancellationToken, T> task, Duration deadline,
+                                      Consumer<T> onResult) {
+        // Only one computation runs at a time; starting a new one stops whatever the user moved away from
+        if (currentComputation != null) {
+            currentComputation.cancel();
+        }
+
+        UserActionEvent event = new UserActionEvent();
+        event.begin();
+        long start = System.nanoTime();
+
+        ComputationHandle<T> handle = scheduler.submit(task, deadline);
+        currentComputation = handle;
+
+        handle.result().whenCompleteAsync((result, error) -> {
+            if (currentComputation == handle) {
+                currentComputation = null;
+            }
+
+            String outcome;
+            if (error == null) {
+                onResult.accept(result);
+                outcome = "completed";
+            } else if (handle.result().isCancelled()) {
+                // Cancelled by the user (already reported) or superseded by a newer request
+                outcome = "cancelled";
+            } else if (error instanceof TimeoutException) {
+                resultArea.appendText("\nComputation stopped: " + error.getMessage() + ".\n");
+                outcome = "timed-out";
+            } else {
+                resultArea.appendText("\nComputation failed: " + error + "\n");
+                outcome = "failed";
+            }
+            recordAction(event, action, n, outcome, System.nanoTime() - start);
         }, Platform::runLater);
     }
 
+    private void recordAction(UserActionEvent event, String action, long n, String outcome, long elapsedNanos) {
+        event.end();
+        if (event.shouldCommit()) {
+            event.action = action;
+            event.n = n;
+            event.outcome = outcome;
+            event.commit();
+        }
+        if (metrics.isEnabled()) {
+            metrics.timer("action." + action + ".time").record(elapsedNanos);
+            metrics.counter("action." + action + "." + outcome).increment();
+        }
+    }
+
     private int validateInput() {
+        return validateInput(MAX_LONG_N);
+    }
+
+    private int validateInput(int maxN) {
         String input = inputField.getText().trim();
 
         try {
@@ -308,8 +565,13 @@ public class FibonacciController {
                 showError("Input must be a non-negative integer.");
                 return -1;
             }
-            if (n > 92) {
-                showError("Values above 92 will exceed the range of long in Java.\nPlease enter a smaller value.");
+            if (n > maxN) {
+                if (maxN == MAX_LONG_N) {
+                    showError("Values above " + MAX_LONG_N + " will exceed the range of long in Java.\n"
+                            + "Please enter a smaller value or use Fast Doubling.");
+                } else {
+                    showError("Values above " + maxN + " are not supported.\nPlease enter a smaller value.");
+                }
                 return -1;
             }
             return n;
@@ -319,6 +581,34 @@ public class FibonacciController {
         }
     }
 
+    private long validateLongInput() {
+        try {
+            long n = Long.parseLong(inputField.getText().trim());
+            if (n < 0) {
+                showError("Input must be a non-negative integer.");
+                return -1;
+            }
+            return n;
+        } catch (NumberFormatException e) {
+            showError("Invalid input. Please enter an integer up to " + Long.MAX_VALUE + ".");
+            return -1;
+        }
+    }
+
+    private long validateModulus() {
+        try {
+            long modulus = Long.parseLong(modulusField.getText().trim());
+            if (modulus < 1) {
+                showError("The modulus must be a positive integer.");
+                return -1;
+            }
+            return modulus;
+        } catch (NumberFormatException e) {
+            showError("Invalid modulus. Please enter an integer between 1 and " + Long.MAX_VALUE + ".");
+            return -1;
+        }
+    }
+
     private void showError(String message) {
         Alert alert = new Alert(Alert.AlertType.ERROR);
         alert.setTitle("Input Error");
@@ -328,6 +618,9 @@ public class FibonacciController {
     }
 
     private void updateChart(String seriesName, int n, long result) {
+        // Single F(n) points only make sense on the growth chart
+        if (chartMode != ChartMode.GROWTH) return;
+
         // Clear existing series with the same name
         chart.getData().removeIf(series -> series.getName().equals(seriesName));
 
@@ -335,46 +628,166 @@ public class FibonacciController {
         XYChart.Series<Number, Number> series = new XYChart.Series<>();
         series.setName(seriesName);
 
-        // Add the data point
-        series.getData().add(new XYChart.Data<>(n, result));
+        // The chart's y axis is log10 F(n) so that it can hold huge ranges; F(0) = 0 sits at 0 with F(1)
+        series.getData().add(new XYChart.Data<>(n, result <= 0 ? 0 : Math.log10(result)));
 
-        // Add the series to the chart
+        // Add the series to the chart; a single point is invisible without its symbol
+        chart.setCreateSymbols(true);
         chart.getData().add(series);
     }
 
     private void updateChartWithAllValues(int maxN) {
-        // Clear previous data
-        chart.getData().clear();
+        lastGrowthN = maxN;
+        if (chartMode != ChartMode.GROWTH) return;
+
+        int range = Math.min(maxN, CHART_MAX_N);
+        // Roughly one point per horizontal pixel; more than that only costs layout time
+        int pointBudget = Math.max(CHART_MIN_POINTS, (int) chart.getWidth());
+
+        scheduler.submit(token -> growthPoints(range, pointBudget, token), DEFAULT_DEADLINE).result()
+                .thenAcceptAsync(points -> {
+                    XYChart.Series<Number, Number> series = new XYChart.Series<>(FXCollections.observableArrayList(points));
+                    series.setName("F(n), " + points.size() + " of " + range + " points");
+
+                    // One bulk replacement instead of a layout pass per added point
+                    chart.setCreateSymbols(points.size() <= CHART_SYMBOL_LIMIT);
+                    chart.getYAxis().setLabel("log10 F(n)");
+                    chart.getData().setAll(List.of(series));
+                }, Platform::runLater);
+    }
 
-        // Create series for each algorithm
-        XYChart.Series<Number, Number> recursiveSeries = new XYChart.Series<>();
-        recursiveSeries.setName("Recursive");
+    private void plotSweep(ChartMode mode) {
+        List<XYChart.Series<Number, Number>> measuredSeries = new ArrayList<>();
+        List<XYChart.Series<Number, Number>> fittedSeries = new ArrayList<>();
+
+        lastSweep.forEach((engine, points) -> {
+            // Costs of 0 (e.g. tabulation makes no calls) have no logarithm and are left out
+            XYChart.Series<Number, Number> measured = new XYChart.Series<>();
+            measured.setName(engine.getDisplayName());
+            for (ComplexitySweep.Point point : points) {
+                long cost = mode.getMetric().applyAsLong(point);
+                if (cost > 0) {
+                    measured.getData().add(new XYChart.Data<>(point.n(), Math.log10(cost)));
+                }
+            }
+            measuredSeries.add(measured);
+
+            GrowthFit fit = fitTail(points, mode);
+            if (fit != null) {
+                XYChart.Series<Number, Number> fitted = new XYChart.Series<>();
+                fitted.setName(engine.getDisplayName() + " fit " + fit.describe());
+                for (ComplexitySweep.Point point : points) {
+                    fitted.getData().add(new XYChart.Data<>(point.n(), Math.log10(fit.valueAt(point.n()))));
+                }
+                fittedSeries.add(fitted);
+            }
+        });
 
-        XYChart.Series<Number, Number> memoSeries = new XYChart.Series<>();
-        memoSeries.setName("Memoization");
+        chart.setCreateSymbols(false);
+        chart.getYAxis().setLabel("log10 " + mode.getAxisLabel());
+        List<XYChart.Series<Number, Number>> all = new ArrayList<>(measuredSeries);
+        all.addAll(fittedSeries);
+        chart.getData().setAll(all);
 
-        XYChart.Series<Number, Number> tabSeries = new XYChart.Series<>();
-        tabSeries.setName("Tabulation");
+        // Series nodes exist once the series are in the chart
+        for (XYChart.Series<Number, Number> fitted : fittedSeries) {
+            fitted.getNode().setStyle("-fx-stroke-dash-array: 6 4; -fx-stroke-width: 1.5;");
+        }
+    }
 
-        // Calculate and add data points
-        calculator.resetCounters();
-        for (int i = 0; i <= Math.min(maxN, 20); i++) {  // Only show up to 20 points for clarity
-            // Recursive might be too slow for larger values
-            if (i <= 15) {
-                recursiveSeries.getData().add(new XYChart.Data<>(i, calculator.recursive(i)));
-            }
+    // Fits the upper two thirds of the sweep only; at small n, timer resolution and call overhead dominate
+    private static GrowthFit fitTail(List<ComplexitySweep.Point> points, ChartMode mode) {
+        int from = points.size() / 3;
+        double[] ns = new double[points.size() - from];
+        double[] costs = new double[ns.length];
+        for (int i = 0; i < ns.length; i++) {
+            ComplexitySweep.Point point = points.get(from + i);
+            ns[i] = point.n();
+            costs[i] = mode.getMetric().applyAsLong(point);
+        }
+        return GrowthFit.fit(ns, costs);
+    }
+
+    // Runs off the FX thread: the whole log10 series in one pass, then LTTB down to the point budget
+    private static List<XYChart.Data<Number, Number>> growthPoints(int maxN, int pointBudget, CancellationToken token) {
+        double[] ys = FibonacciGrowth.log10Series(maxN, token);
+        double[] xs = new double[ys.length];
+        for (int i = 0; i < xs.length; i++) {
+            xs[i] = i + 1;
+        }
+
+        int[] kept = SeriesDownsampler.largestTriangleThreeBuckets(xs, ys, pointBudget);
+        List<XYChart.Data<Number, Number>> points = new ArrayList<>(kept.length);
+        for (int index : kept) {
+            points.add(new XYChart.Data<>(index + 1, ys[index]));
+        }
+        return points;
+    }
 
-            calculator.resetCounters();
-            memoSeries.getData().add(new XYChart.Data<>(i, calculator.memoized(i)));
+    private void appendTableBorder(char left, char middle, char right, int columns) {
+        StringBuilder line = new StringBuilder().append(left).append("═".repeat(20));
+        for (int i = 0; i < columns; i++) {
+            line.append(middle).append("═".repeat(16));
+        }
+        resultArea.appendText(line.append(right).append('\n').toString());
+    }
 
-            tabSeries.getData().add(new XYChart.Data<>(i, calculator.tabulated(i)));
+    private void appendTableRow(String metric, String... cells) {
+        StringBuilder line = new StringBuilder("║ ").append(padRight(metric, 18)).append(" ║");
+        for (String cell : cells) {
+            line.append(' ').append(padRight(cell, 14)).append(" ║");
         }
+        resultArea.appendText(line.append('\n').toString());
+    }
+
+    private void appendTimingRow(String metric, List<Measured<FibRun>> columns, ToDoubleFunction<TimingStats> nanos) {
+        appendTableRow(metric, columns.stream()
+                .map(m -> m == null ? "N/A" : String.format("%.1f", nanos.applyAsDouble(m.stats()) / 1_000.0))
+                .toArray(String[]::new));
+    }
+
+    private String speedup(Measured<FibRun> baseline, Measured<FibRun> measured) {
+        if (baseline == null || measured == null || measured.stats().meanNanos() == 0) return "N/A";
+        return String.format("%.2fx", baseline.stats().meanNanos() / measured.stats().meanNanos());
+    }
+
+    private String formatBig(BigInteger value) {
+        if (value.bitLength() < FULL_DIGITS_BIT_LIMIT) return value.toString();
+
+        // Printing millions of digits would stall the text area; show the leading digits and the exponent
+        double log10 = log10(value);
+        long exponent = (long) Math.floor(log10);
+        double mantissa = Math.pow(10, log10 - exponent);
+        String lastDigits = value.mod(BigInteger.TEN.pow(10)).toString();
+        return String.format("%.10fe+%d (...%s)", mantissa, exponent, padLeftZeros(lastDigits, 10));
+    }
 
-        // Add the series to the chart
-        chart.getData().addAll(recursiveSeries, memoSeries, tabSeries);
+    private long digitCount(BigInteger value) {
+        if (value.bitLength() < FULL_DIGITS_BIT_LIMIT) return value.toString().length();
+        return (long) Math.floor(log10(value)) + 1;
+    }
+
+    private double log10(BigInteger value) {
+        int shift = Math.max(0, value.bitLength() - 63);
+        return Math.log10(value.shiftRight(shift).doubleValue()) + shift * Math.log10(2);
+    }
+
+    private String formatBytes(long bytes) {
+        if (bytes < 0) return "N/A";
+        if (bytes < 1024) return bytes + " B";
+        if (bytes < 1024 * 1024) return String.format("%.1f KiB", bytes / 1024.0);
+        return String.format("%.1f MiB", bytes / (1024.0 * 1024));
+    }
+
+    private String padLeftZeros(String s, int width) {
+        return "0".repeat(Math.max(0, width - s.length())) + s;
     }
 
     private String padRight(String s, int width) {
         return String.format("%-" + width + "s", s);
     }
+
+    // Compare results: one column per FibRun engine, plus the modular engine when a modulus was given
+    private record Comparison(List<Measured<FibRun>> columns, Measured<ModularRun> modular) {
+    }
 }
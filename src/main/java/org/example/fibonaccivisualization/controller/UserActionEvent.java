@@ -0,0 +1,25 @@
+package org.example.fibonaccivisualization.controller;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+
+// A button press in the main view, from submission until its result reached the UI (or it failed or was cancelled)
+@Name("org.example.fibonaccivisualization.UserAction")
+@Label("Fibonacci User Action")
+@Category("Fibonacci")
+@Description("A controller action, including time spent queued and on the FX thread")
+@StackTrace(false)
+class UserActionEvent extends jdk.jfr.Event {
+    @Label("Action")
+    String action;
+
+    @Label("n")
+    long n;
+
+    @Label("Outcome")
+    @Description("completed, timed-out, failed or cancelled")
+    String outcome;
+}
@@ -0,0 +1,84 @@
+package org.example.fibonaccivisualization.metrics;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Instant;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.ConcurrentSkipListMap;
+import java.util.function.Function;
+
+// Named counters, timers and histograms for the whole process. Collection is off until enabled (or started with
+// -Dfibonacci.metrics=true); callers check isEnabled() first, so a disabled registry costs one volatile read.
+public final class MetricsRegistry {
+    private static final MetricsRegistry SHARED = new MetricsRegistry(Boolean.getBoolean("fibonacci.metrics"));
+
+    private final Map<String, Counter> counters = new ConcurrentSkipListMap<>();
+    private final Map<String, Timer> timers = new ConcurrentSkipListMap<>();
+    private final Map<String, Histogram> histograms = new ConcurrentSkipListMap<>();
+    private volatile boolean enabled;
+
+    public MetricsRegistry(boolean enabled) {
+        this.enabled = enabled;
+    }
+
+    public static MetricsRegistry shared() {
+        return SHARED;
+    }
+
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    public void setEnabled(boolean enabled) {
+        this.enabled = enabled;
+    }
+
+    public Counter counter(String name) {
+        return lookup(counters, name, key -> new Counter());
+    }
+
+    public Timer timer(String name) {
+        return lookup(timers, name, key -> new Timer());
+    }
+
+    public Histogram histogram(String name) {
+        return lookup(histograms, name, key -> new Histogram());
+    }
+
+    public void clear() {
+        counters.clear();
+        timers.clear();
+        histograms.clear();
+    }
+
+    // Plain text, one metric per line and sorted by name
+    public String dump() {
+        StringBuilder out = new StringBuilder("# Metrics at ").append(Instant.now())
+                .append(enabled ? "" : " (collection disabled)").append('\n');
+        counters.forEach((name, counter) -> out.append(name).append(" count=").append(counter.get()).append('\n'));
+        timers.forEach((name, timer) -> {
+            Histogram nanos = timer.getNanos();
+            out.append(name).append(String.format(Locale.ROOT,
+                    " count=%d mean=%.1fµs p50<=%.1fµs p99<=%.1fµs max=%.1fµs%n", nanos.getCount(),
+                    nanos.getMean() / 1_000.0, nanos.getPercentile(0.50) / 1_000.0,
+                    nanos.getPercentile(0.99) / 1_000.0, nanos.getMax() / 1_000.0));
+        });
+        histograms.forEach((name, histogram) -> out.append(name).append(String.format(Locale.ROOT,
+                " count=%d mean=%.1f p50<=%d p99<=%d max=%d%n", histogram.getCount(), histogram.getMean(),
+                histogram.getPercentile(0.50), histogram.getPercentile(0.99), histogram.getMax())));
+        return out.toString();
+    }
+
+    public void dumpTo(Path file) throws IOException {
+        Files.writeString(file, dump(), StandardCharsets.UTF_8);
+    }
+
+    // Sorted maps so the dump lists metrics by name; an existing metric is found without allocating
+    private static <M> M lookup(Map<String, M> metrics, String name, Function<String, M> factory) {
+        M metric = metrics.get(name);
+        return metric != null ? metric : metrics.computeIfAbsent(name, factory);
+    }
+}
@@ -0,0 +1,17 @@
+package org.example.fibonaccivisualization.metrics;
+
+// Durations in nanoseconds, kept as a histogram so the dump can show tail latency as well as the mean
+public final class Timer {
+    private final Histogram nanos = new Histogram();
+
+    Timer() {
+    }
+
+    public void record(long elapsedNanos) {
+        nanos.record(elapsedNanos);
+    }
+
+    public Histogram getNanos() {
+        return nanos;
+    }
+}
@@ -0,0 +1,29 @@
+package org.example.fibonaccivisualization.model;
+
+import java.lang.management.ManagementFactory;
+
+// Bytes allocated by the current thread, from HotSpot's per-thread TLAB accounting. Reading it costs a few
+// nanoseconds and has no effect on the measured code; on JVMs without the counter every reading is -1.
+public final class AllocationMeter {
+    private static final com.sun.management.ThreadMXBean THREADS = loadThreadBean();
+
+    private AllocationMeter() {
+    }
+
+    public static boolean isSupported() {
+        return THREADS != null;
+    }
+
+    public static long currentThreadAllocatedBytes() {
+        return THREADS == null ? -1 : THREADS.getCurrentThreadAllocatedBytes();
+    }
+
+    private static com.sun.management.ThreadMXBean loadThreadBean() {
+        if (ManagementFactory.getThreadMXBean() instanceof com.sun.management.ThreadMXBean bean
+                && bean.isThreadAllocatedMemorySupported()) {
+            bean.setThreadAllocatedMemoryEnabled(true);
+            return bean;
+        }
+        return null;
+    }
+}
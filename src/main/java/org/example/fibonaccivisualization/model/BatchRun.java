@@ -0,0 +1,17 @@
+package org.example.fibonaccivisualization.model;
+
+import java.math.BigInteger;
+
+// Answers to a batch of queries, in the order they were asked. distinctIndices counts the Fibonacci indices
+// actually evaluated after sorting and removing duplicates; steps counts additions, doubling steps and jumps.
+public record BatchRun(int queries, int distinctIndices, BigInteger[] values, long elapsedNanos, long steps) {
+
+    public double queriesPerSecond() {
+        return queriesPerSecond(queries, elapsedNanos);
+    }
+
+    // Also used for requests answered one query at a time, so every caller reports throughput the same way
+    public static double queriesPerSecond(long queries, long elapsedNanos) {
+        return queries * 1_000_000_000.0 / Math.max(1, elapsedNanos);
+    }
+}
@@ -0,0 +1,46 @@
+package org.example.fibonaccivisualization.model;
+
+import java.util.EnumMap;
+import java.util.Map;
+import java.util.concurrent.atomic.LongAdder;
+
+// Aggregate counters shared by every run. LongAdder stripes updates per thread, so concurrent runs never contend on a lock.
+public class CalculatorStats {
+    private final Map<FibEngine, LongAdder> runs = new EnumMap<>(FibEngine.class);
+    private final Map<FibEngine, LongAdder> calls = new EnumMap<>(FibEngine.class);
+    private final Map<FibEngine, LongAdder> cacheHits = new EnumMap<>(FibEngine.class);
+    private final Map<FibEngine, LongAdder> elapsedNanos = new EnumMap<>(FibEngine.class);
+
+    public CalculatorStats() {
+        // The maps are fully populated here and never structurally modified afterwards
+        for (FibEngine engine : FibEngine.values()) {
+            runs.put(engine, new LongAdder());
+            calls.put(engine, new LongAdder());
+            cacheHits.put(engine, new LongAdder());
+            elapsedNanos.put(engine, new LongAdder());
+        }
+    }
+
+    void record(FibRun run) {
+        runs.get(run.engine()).increment();
+        calls.get(run.engine()).add(run.calls());
+        cacheHits.get(run.engine()).add(run.cacheHits());
+        elapsedNanos.get(run.engine()).add(run.elapsedNanos());
+    }
+
+    public long getRuns(FibEngine engine) {
+        return runs.get(engine).sum();
+    }
+
+    public long getCalls(FibEngine engine) {
+        return calls.get(engine).sum();
+    }
+
+    public long getCacheHits(FibEngine engine) {
+        return cacheHits.get(engine).sum();
+    }
+
+    public long getElapsedNanos(FibEngine engine) {
+        return elapsedNanos.get(engine).sum();
+    }
+}
@@ -0,0 +1,158 @@
+package org.example.fibonaccivisualization.model;
+
+import java.util.Arrays;
+import java.util.Objects;
+
+// Typed log of the calls an engine makes, one packed long per event plus an optional nanoTime stamp. Once
+// maxEvents is reached it becomes a ring buffer and the oldest events are overwritten, so memory stays bounded
+// however long the run. Only the engines in this package record; everyone else reads.
+public final class CallTrace {
+    public enum EventType {
+        CALL,    // a call that goes on to compute its value
+        HIT,     // a call answered from the cache
+        BASE,    // a call for F(0) or F(1)
+        RETURN   // a computing call returning its value
+    }
+
+    // Records nothing; engines check isEnabled() once and skip the tracing branch entirely
+    public static final CallTrace DISABLED = new CallTrace(0, false);
+
+    private static final EventType[] TYPES = EventType.values();
+    private static final int INITIAL_CAPACITY = 1024;
+
+    // Event layout: bits 0-1 type, bits 2-25 depth, bits 26-57 argument
+    private static final long TYPE_MASK = 0x3;
+    private static final int DEPTH_SHIFT = 2;
+    private static final long DEPTH_MASK = (1L << 24) - 1;
+    private static final int ARGUMENT_SHIFT = 26;
+
+    private final int maxEvents;
+    private long[] events;
+    private long[] timestamps;
+    private long recorded;
+
+    public CallTrace(int maxEvents, boolean withTimestamps) {
+        this.maxEvents = Math.max(0, maxEvents);
+        int initial = Math.min(this.maxEvents, INITIAL_CAPACITY);
+        this.events = new long[initial];
+        this.timestamps = withTimestamps ? new long[initial] : null;
+    }
+
+    public boolean isEnabled() {
+        return maxEvents > 0;
+    }
+
+    public boolean hasTimestamps() {
+        return timestamps != null;
+    }
+
+    // The shared DISABLED trace belongs to no run, so it counts as nothing
+    public long retainedBytes() {
+        if (!isEnabled()) return 0;
+        return HeapSizes.object(Integer.BYTES + 2L * HeapSizes.REFERENCE + Long.BYTES)
+                + HeapSizes.array(events.length, Long.BYTES)
+                + (timestamps == null ? 0 : HeapSizes.array(timestamps.length, Long.BYTES));
+    }
+
+    void record(EventType type, int argument, int depth) {
+        if (maxEvents == 0) return;
+
+        int slot;
+        if (recorded < maxEvents) {
+            if (recorded == events.length) grow();
+            slot = (int) recorded;
+        } else {
+            slot = (int) (recorded % maxEvents);
+        }
+
+        events[slot] = type.ordinal() | (depth & DEPTH_MASK) << DEPTH_SHIFT | (long) argument << ARGUMENT_SHIFT;
+        if (timestamps != null) {
+            timestamps[slot] = System.nanoTime();
+        }
+        recorded++;
+    }
+
+    // Every event ever recorded, including the ones the ring buffer has overwritten
+    public long getRecordedCount() {
+        return recorded;
+    }
+
+    public long getDroppedCount() {
+        return recorded - size();
+    }
+
+    // Number of retained events; index 0 is the oldest one still held
+    public int size() {
+        return (int) Math.min(recorded, maxEvents);
+    }
+
+    // Position of retained event i in the full sequence, counting from 0
+    public long sequenceNumber(int i) {
+        return getDroppedCount() + i;
+    }
+
+    public EventType type(int i) {
+        return TYPES[(int) (events[slot(i)] & TYPE_MASK)];
+    }
+
+    public int argument(int i) {
+        return (int) (events[slot(i)] >>> ARGUMENT_SHIFT);
+    }
+
+    public int depth(int i) {
+        return (int) ((events[slot(i)] >>> DEPTH_SHIFT) & DEPTH_MASK);
+    }
+
+    // System.nanoTime() when the event was recorded, or -1 without timestamps
+    public long nanos(int i) {
+        return timestamps == null ? -1 : timestamps[slot(i)];
+    }
+
+    public Cursor replay() {
+        return new Cursor();
+    }
+
+    private int slot(int i) {
+        Objects.checkIndex(i, size());
+        return (int) ((getDroppedCount() + i) % maxEvents);
+    }
+
+    private void grow() {
+        int capacity = (int) Math.min(maxEvents, events.length * 2L);
+        events = Arrays.copyOf(events, capacity);
+        if (timestamps != null) {
+            timestamps = Arrays.copyOf(timestamps, capacity);
+        }
+    }
+
+    // Steps through the retained events from oldest to newest without allocating per event
+    public final class Cursor {
+        private int position = -1;
+
+        public boolean next() {
+            if (position + 1 >= size()) return false;
+            position++;
+            return true;
+        }
+
+        public EventType type() {
+            return CallTrace.this.type(position);
+        }
+
+        public int argument() {
+            return CallTrace.this.argument(position);
+        }
+
+        public int depth() {
+            return CallTrace.this.depth(position);
+        }
+
+        public long nanos() {
+            return CallTrace.this.nanos(position);
+        }
+
+        public long sequenceNumber() {
+            return CallTrace.this.sequenceNumber(position);
+        }
+    }
+}
@@ -0,0 +1,26 @@
+package org.example.fibonaccivisualization.model;
+
+import java.util.concurrent.CancellationException;
+
+// Engines poll this cooperatively; cancelling only sets a flag, the running engine notices it at its next check
+public final class CancellationToken {
+    public static final CancellationToken NONE = new CancellationToken();
+
+    private volatile boolean cancelled;
+
+    public void cancel() {
+        if (this != NONE) {
+            cancelled = true;
+        }
+    }
+
+    public boolean isCancelled() {
+        return cancelled;
+    }
+
+    public void throwIfCancelled() {
+        if (cancelled) {
+            throw new CancellationException("Computation cancelled");
+        }
+    }
+}
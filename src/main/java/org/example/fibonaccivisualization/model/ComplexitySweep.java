@@ -0,0 +1,54 @@
+package org.example.fibonaccivisualization.model;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
+import java.util.function.IntFunction;
+
+// Measures how each FibonacciCalculator engine's cost grows with n: median time, calls and bytes allocated
+// for every n in the sweep. The recursive engine stops at a lower n so the sweep finishes in seconds. Allocation
+// is only known (otherwise -1) when the calculator has setMeasureMemory(true).
+public class ComplexitySweep {
+    private static final int WARMUP_ITERATIONS = 3;
+    private static final int MEASUREMENT_ITERATIONS = 7;
+    private static final Duration BUDGET_PER_POINT = Duration.ofMillis(250);
+
+    private final FibonacciCalculator calculator;
+    private final int maxN;
+    private final int maxRecursiveN;
+
+    public ComplexitySweep(FibonacciCalculator calculator, int maxN, int maxRecursiveN) {
+        this.calculator = calculator;
+        this.maxN = maxN;
+        this.maxRecursiveN = Math.min(maxN, maxRecursiveN);
+    }
+
+    public Map<FibEngine, List<Point>> run(CancellationToken token) {
+        Map<FibEngine, List<Point>> results = new EnumMap<>(FibEngine.class);
+        results.put(FibEngine.RECURSIVE, sweep(maxRecursiveN, n -> calculator.runRecursive(n, token), token));
+        results.put(FibEngine.MEMOIZED, sweep(maxN, n -> calculator.runMemoized(n, token, CallTrace.DISABLED), token));
+        results.put(FibEngine.TABULATED, sweep(maxN, n -> calculator.runTabulated(n, token), token));
+        results.put(FibEngine.FAST_DOUBLING, sweep(maxN, n -> calculator.runFastDoubling(n, token), token));
+        return results;
+    }
+
+    private List<Point> sweep(int limit, IntFunction<FibRun> engine, CancellationToken token) {
+        TimingHarness harness = new TimingHarness(WARMUP_ITERATIONS, MEASUREMENT_ITERATIONS, BUDGET_PER_POINT);
+        List<Point> points = new ArrayList<>();
+
+        for (int n = 1; n <= limit; n++) {
+            token.throwIfCancelled();
+            int current = n;
+            TimingHarness.Measured<FibRun> measured = harness.measure(() -> engine.apply(current));
+
+            FibRun last = measured.lastResult();
+            points.add(new Point(n, measured.stats().p50Nanos(), last.calls(), last.allocatedBytes()));
+        }
+        return points;
+    }
+
+    public record Point(int n, long nanos, long calls, long allocatedBytes) {
+    }
+}
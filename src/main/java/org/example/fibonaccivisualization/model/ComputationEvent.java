@@ -0,0 +1,34 @@
+package org.example.fibonaccivisualization.model;
+
+import jdk.jfr.Category;
+import jdk.jfr.DataAmount;
+import jdk.jfr.Description;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+
+// One engine run, as seen by JDK Flight Recorder: java -XX:StartFlightRecording ... and look under "Fibonacci"
+@Name("org.example.fibonaccivisualization.Computation")
+@Label("Fibonacci Computation")
+@Category("Fibonacci")
+@Description("One run of a Fibonacci engine; the event duration is the run's wall time")
+@StackTrace(false)
+class ComputationEvent extends jdk.jfr.Event {
+    @Label("Engine")
+    String engine;
+
+    @Label("n")
+    @Description("Requested index, or the number of queries for a batch")
+    long n;
+
+    @Label("Calls")
+    long calls;
+
+    @Label("Cache Hits")
+    long cacheHits;
+
+    @Label("Allocated")
+    @Description("Bytes allocated by the computing thread, -1 where the JVM does not report it")
+    @DataAmount
+    long allocatedBytes;
+}
@@ -0,0 +1,19 @@
+package org.example.fibonaccivisualization.model;
+
+public enum FibEngine {
+    RECURSIVE("Recursive"),
+    PARALLEL_RECURSIVE("Parallel Recursive"),
+    MEMOIZED("Memoization"),
+    TABULATED("Tabulation"),
+    FAST_DOUBLING("Fast Doubling");
+
+    private final String displayName;
+
+    FibEngine(String displayName) {
+        this.displayName = displayName;
+    }
+
+    public String getDisplayName() {
+        return displayName;
+    }
+}
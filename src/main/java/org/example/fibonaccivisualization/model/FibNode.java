@@ -1,16 +1,22 @@
 package org.example.fibonaccivisualization.model;
 
-import org.example.fibonaccivisualization.view.NodeView;
-
+// One shared node per distinct F(k). The recursion tree reuses the same F(k-1) and F(k-2) nodes everywhere
+// they appear, so a tree of 2*F(n+1) - 1 calls is represented by n + 1 nodes. RecursionDag only builds them for
+// n <= 92, where both longs below are exact.
 public class FibNode {
-    public int value;
-    public FibNode left, right;
-    public NodeView view;
-    public long result;  // Store the calculated Fibonacci result for this node
+    public final int value;
+    public final FibNode left, right;
+    public final long result;  // The calculated Fibonacci result for this node
+    long multiplicity;         // How many times F(value) is called in the full recursion tree
 
-    public FibNode(int value) {
+    FibNode(int value, FibNode left, FibNode right, long result) {
         this.value = value;
+        this.left = left;
+        this.right = right;
+        this.result = result;
     }
-}
-
 
+    public long getMultiplicity() {
+        return multiplicity;
+    }
+}
@@ -0,0 +1,38 @@
+package org.example.fibonaccivisualization.model;
+
+import java.math.BigInteger;
+
+// Immutable outcome of a single computation. Engines that produce no trace use CallTrace.DISABLED, and those
+// without a memo table or tree leave them null. The trace is only written while the engine runs.
+// allocatedBytes is what the computing thread allocated during the run (-1 if unknown); retainedBytes
+// estimates what the result keeps alive: the value, memo table, tree and trace.
+public record FibRun(FibEngine engine, int n, BigInteger value, long elapsedNanos, long calls, long cacheHits,
+                     CallTrace trace, MemoTable memoTable, RecursionDag tree, long allocatedBytes,
+                     long retainedBytes) {
+
+    public FibRun {
+        if (trace == null) trace = CallTrace.DISABLED;
+    }
+
+    // Engines build runs without memory figures; the calculator adds them once the run has finished
+    public FibRun(FibEngine engine, int n, BigInteger value, long elapsedNanos, long calls, long cacheHits,
+                  CallTrace trace, MemoTable memoTable, RecursionDag tree) {
+        this(engine, n, value, elapsedNanos, calls, cacheHits, trace, memoTable, tree, -1, 0);
+    }
+
+    FibRun withMemory(long allocatedBytes) {
+        long retained = HeapSizes.of(value) + trace.retainedBytes()
+                + (memoTable == null ? 0 : memoTable.retainedBytes())
+                + (tree == null ? 0 : tree.retainedBytes());
+        return new FibRun(engine, n, value, elapsedNanos, calls, cacheHits, trace, memoTable, tree,
+                allocatedBytes, retained);
+    }
+
+    public long longValue() {
+        return value.longValue();
+    }
+
+    public long elapsedMillis() {
+        return elapsedNanos / 1_000_000;
+    }
+}
@@ -0,0 +1,139 @@
+package org.example.fibonaccivisualization.model;
+
+import java.math.BigInteger;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.IntFunction;
+
+public class FibonacciCache {
+    public static final int MAX_LONG_N = 92;
+    private static final long DEFAULT_MAX_BYTES = 64L * 1024 * 1024;
+
+    // Rough cost of a BigInteger plus its map entry on top of the magnitude array
+    private static final long ENTRY_OVERHEAD_BYTES = 96;
+
+    // Every F(n) that fits in a long, computed once for the whole process
+    private static final long[] LONG_TABLE = new long[MAX_LONG_N + 1];
+
+    static {
+        LONG_TABLE[1] = 1;
+        for (int i = 2; i <= MAX_LONG_N; i++) {
+            LONG_TABLE[i] = LONG_TABLE[i - 1] + LONG_TABLE[i - 2];
+        }
+    }
+
+    private static final FibonacciCache SHARED = new FibonacciCache(DEFAULT_MAX_BYTES);
+
+    private final long maxBytes;
+
+    // Access-ordered, so iteration starts at the least recently used entry. Guarded by this.
+    private final LinkedHashMap<Integer, BigInteger> bigValues = new LinkedHashMap<>(16, 0.75f, true);
+    private long currentBytes;
+
+    private final LongAdder hits = new LongAdder();
+    private final LongAdder misses = new LongAdder();
+    private final LongAdder evictions = new LongAdder();
+
+    public FibonacciCache(long maxBytes) {
+        this.maxBytes = maxBytes;
+    }
+
+    public static FibonacciCache shared() {
+        return SHARED;
+    }
+
+    public static boolean fitsInLong(int n) {
+        return n >= 0 && n <= MAX_LONG_N;
+    }
+
+    public long getLong(int n) {
+        hits.increment();
+        return LONG_TABLE[n];
+    }
+
+    public BigInteger get(int n) {
+        if (fitsInLong(n)) {
+            return BigInteger.valueOf(getLong(n));
+        }
+
+        BigInteger value;
+        synchronized (this) {
+            value = bigValues.get(n);
+        }
+
+        if (value == null) {
+            misses.increment();
+        } else {
+            hits.increment();
+        }
+        return value;
+    }
+
+    public BigInteger computeIfAbsent(int n, IntFunction<BigInteger> engine) {
+        BigInteger value = get(n);
+        if (value != null) return value;
+
+        // Compute outside the lock; two threads racing on the same n just both do the work once
+        value = engine.apply(n);
+        put(n, value);
+        return value;
+    }
+
+    public void put(int n, BigInteger value) {
+        if (fitsInLong(n)) return;
+
+        long bytes = sizeOf(value);
+        if (bytes > maxBytes) return;
+
+        synchronized (this) {
+            BigInteger previous = bigValues.put(n, value);
+            if (previous != null) {
+                currentBytes -= sizeOf(previous);
+            }
+            currentBytes += bytes;
+
+            Iterator<Map.Entry<Integer, BigInteger>> eldest = bigValues.entrySet().iterator();
+            while (currentBytes > maxBytes && eldest.hasNext()) {
+                Map.Entry<Integer, BigInteger> entry = eldest.next();
+                currentBytes -= sizeOf(entry.getValue());
+                eldest.remove();
+                evictions.increment();
+            }
+        }
+    }
+
+    public synchronized void clear() {
+        bigValues.clear();
+        currentBytes = 0;
+    }
+
+    public long getHits() {
+        return hits.sum();
+    }
+
+    public long getMisses() {
+        return misses.sum();
+    }
+
+    public long getEvictions() {
+        return evictions.sum();
+    }
+
+    public synchronized long getCurrentBytes() {
+        return currentBytes;
+    }
+
+    public long getMaxBytes() {
+        return maxBytes;
+    }
+
+    public synchronized int getEntryCount() {
+        return bigValues.size();
+    }
+
+    private static long sizeOf(BigInteger value) {
+        return ENTRY_OVERHEAD_BYTES + ((value.bitLength() + 31) / 32) * 4L;
+    }
+}
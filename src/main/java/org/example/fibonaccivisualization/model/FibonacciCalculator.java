@@ -1,63 +1,109 @@
 package org.example.fibonaccivisualization.model;
 
+import java.math.BigInteger;
 import java.util.*;
+import java.util.stream.LongStream;
+import java.util.stream.StreamSupport;
 
 public class FibonacciCalculator {
-    private int recursionCount = 0;
-    private int totalCalls = 0;
-    private int cacheHits = 0;
-    private final List<Integer> memoizationCallOrder = new ArrayList<>();
-    private final Map<Integer, Integer> callCounts = new HashMap<>();
+    private static final int FRAME_ENTER = 0;
+    private static final int FRAME_AFTER_LEFT = 1;
+    private static final int FRAME_AFTER_RIGHT = 2;
 
-    public void resetCounters() {
-        recursionCount = 0;
-        totalCalls = 0;
-        cacheHits = 0;
-        memoizationCallOrder.clear();
-        callCounts.clear();
+    // Engines check for cancellation once every 65536 calls, which keeps the volatile read off the hot path
+    private static final long CANCEL_CHECK_MASK = 0xFFFF;
+
+    // The memoized run keeps at most this many trace events (8 MiB) unless the caller brings its own trace
+    private static final int DEFAULT_TRACE_EVENTS = 1 << 20;
+
+    // Batched queries this close together are reached by repeated addition rather than a doubling jump
+    private static final int BATCH_WALK_LIMIT = 32;
+
+    private final CalculatorStats stats = new CalculatorStats();
+    private final FibonacciCache cache;
+    private final PisanoPeriods pisanoPeriods;
+    private volatile boolean measureMemory;
+
+    public FibonacciCalculator() {
+        this(FibonacciCache.shared());
+    }
+
+    public FibonacciCalculator(FibonacciCache cache) {
+        this(cache, PisanoPeriods.shared());
     }
 
-    public int getRecursionCount() {
-        return recursionCount;
+    public FibonacciCalculator(FibonacciCache cache, PisanoPeriods pisanoPeriods) {
+        this.cache = cache;
+        this.pisanoPeriods = pisanoPeriods;
     }
 
-    public int getTotalCalls() {
-        return totalCalls;
+    public CalculatorStats getStats() {
+        return stats;
     }
 
-    public int getCacheHits() {
-        return cacheHits;
+    public FibonacciCache getCache() {
+        return cache;
     }
 
-    public List<Integer> getMemoizationCallOrder() {
-        return memoizationCallOrder;
+    public PisanoPeriods getPisanoPeriods() {
+        return pisanoPeriods;
     }
 
-    public Map<Integer, Integer> getCallCounts() {
-        return callCounts;
+    // Off by default: reading the allocation counter and sizing the result cost more than the linear engines
+    // themselves, so only callers that show memory figures, like the GUI's compare table and sweep, turn it on
+    public void setMeasureMemory(boolean measureMemory) {
+        this.measureMemory = measureMemory;
     }
 
+    public boolean isMeasuringMemory() {
+        return measureMemory;
+    }
+
+    // The value-only entry points answer from the shared cache; the run* methods always execute their engine,
+    // because the timings, counters and traces they report are the point of calling them.
+
     public long recursive(int n) {
-        recursionCount++;
+        if (FibonacciCache.fitsInLong(n)) return cache.getLong(n);
+        return recursive(n, new RunCounters(CancellationToken.NONE));
+    }
+
+    public FibRun runRecursive(int n) {
+        return runRecursive(n, CancellationToken.NONE);
+    }
+
+    public FibRun runRecursive(int n, CancellationToken token) {
+        RunCounters counters = new RunCounters(token);
+        RunProbe probe = RunProbe.start(measureMemory);
+        long start = System.nanoTime();
+        long result = recursive(n, counters);
+        long elapsed = System.nanoTime() - start;
+        return finish(new FibRun(FibEngine.RECURSIVE, n, BigInteger.valueOf(result), elapsed,
+                counters.calls, 0, CallTrace.DISABLED, null, null), probe);
+    }
+
+    private long recursive(int n, RunCounters counters) {
+        counters.countCall();
         if (n <= 1) return n;
-        return recursive(n - 1) + recursive(n - 2);
+        return recursive(n - 1, counters) + recursive(n - 2, counters);
     }
 
     public FibNode buildRecursiveTree(int n) {
-        resetCounters();
-        FibNode node = new FibNode(n);
-        if (n <= 1) {
-            node.result = n;
-            recursionCount++;
-            return node;
-        }
+        return new RecursionDag(n).getRoot();
+    }
 
-        node.left = buildRecursiveTree(n - 1);
-        node.right = buildRecursiveTree(n - 2);
-        node.result = node.left.result + node.right.result;
-        recursionCount++;
+    public FibRun runRecursiveTree(int n) {
+        return runRecursiveTree(n, CancellationToken.NONE);
+    }
 
-        return node;
+    // Times the real recursion, then attaches the O(n) shared-node DAG that describes its call tree
+    public FibRun runRecursiveTree(int n, CancellationToken token) {
+        RunCounters counters = new RunCounters(token);
+        RunProbe probe = RunProbe.start(measureMemory);
+        long start = System.nanoTime();
+        long result = recursive(n, counters);
+        long elapsed = System.nanoTime() - start;
+        return finish(new FibRun(FibEngine.RECURSIVE, n, BigInteger.valueOf(result), elapsed,
+                counters.calls, 0, CallTrace.DISABLED, null, new RecursionDag(n)), probe);
     }
 
     public long calculateResult(FibNode node) {
@@ -67,74 +113,350 @@ public class FibonacciCalculator {
     }
 
     public long memoized(int n) {
-        totalCalls = 0;
-        cacheHits = 0;
-        Map<Integer, Long> memo = new HashMap<>();
-        return memoizedHelper(n, memo);
+        if (FibonacciCache.fitsInLong(n)) return cache.getLong(n);
+        return memoizedHelper(n, new MemoTable(n), new RunCounters(CancellationToken.NONE), CallTrace.DISABLED);
     }
 
-    private long memoizedHelper(int n, Map<Integer, Long> memo) {
-        totalCalls++;
+    public FibRun runMemoized(int n) {
+        return runMemoized(n, CancellationToken.NONE);
+    }
+
+    public FibRun runMemoized(int n, CancellationToken token) {
+        return runMemoized(n, token, new CallTrace(DEFAULT_TRACE_EVENTS, false));
+    }
 
-        // Count calls per value
-        callCounts.put(n, callCounts.getOrDefault(n, 0) + 1);
+    // Pass CallTrace.DISABLED to time the algorithm alone, or a trace with timestamps to see where time goes
+    public FibRun runMemoized(int n, CancellationToken token, CallTrace trace) {
+        RunCounters counters = new RunCounters(token);
+        // The memo table is part of what the run allocates
+        RunProbe probe = RunProbe.start(measureMemory);
+        MemoTable memo = new MemoTable(n);
+        long start = System.nanoTime();
+        long result = memoizedHelper(n, memo, counters, trace);
+        long elapsed = System.nanoTime() - start;
+        return finish(new FibRun(FibEngine.MEMOIZED, n, BigInteger.valueOf(result), elapsed,
+                counters.calls, counters.cacheHits, trace, memo, null), probe);
+    }
 
-        // Record call sequence
-        memoizationCallOrder.add(n);
+    private long memoizedHelper(int n, MemoTable memo, RunCounters counters, CallTrace trace) {
+        // Explicit frame stack instead of JVM recursion. Each frame holds its argument, how far it got
+        // and the left result it is waiting to add. The call chain never goes deeper than n + 1 frames.
+        int capacity = Math.max(n, 1) + 1;
+        int[] args = new int[capacity];
+        int[] stages = new int[capacity];
+        long[] partials = new long[capacity];
 
-        if (memo.containsKey(n)) {
-            cacheHits++;
-            return memo.get(n);
-        }
+        int top = 0;
+        args[0] = n;
+        stages[0] = FRAME_ENTER;
+        long returned = 0;
+        boolean tracing = trace.isEnabled();
+
+        while (top >= 0) {
+            int k = args[top];
 
-        if (n <= 1) {
-            memo.put(n, (long) n);
-            return n;
+            switch (stages[top]) {
+                case FRAME_ENTER -> {
+                    counters.countCall();
+
+                    // Count calls per value
+                    memo.recordCall(k);
+
+                    if (memo.isFilled(k)) {
+                        counters.cacheHits++;
+                        if (tracing) trace.record(CallTrace.EventType.HIT, k, top);
+                        returned = memo.get(k);
+                        top--;
+                    } else if (k <= 1) {
+                        if (tracing) trace.record(CallTrace.EventType.BASE, k, top);
+                        memo.put(k, k);
+                        returned = k;
+                        top--;
+                    } else {
+                        if (tracing) trace.record(CallTrace.EventType.CALL, k, top);
+                        // Call F(k - 1) first, exactly like the recursive version
+                        stages[top] = FRAME_AFTER_LEFT;
+                        top++;
+                        args[top] = k - 1;
+                        stages[top] = FRAME_ENTER;
+                    }
+                }
+                case FRAME_AFTER_LEFT -> {
+                    partials[top] = returned;
+                    stages[top] = FRAME_AFTER_RIGHT;
+                    top++;
+                    args[top] = k - 2;
+                    stages[top] = FRAME_ENTER;
+                }
+                default -> {
+                    long result = partials[top] + returned;
+                    if (tracing) trace.record(CallTrace.EventType.RETURN, k, top);
+                    memo.put(k, result);
+                    returned = result;
+                    top--;
+                }
+            }
         }
 
-        long result = memoizedHelper(n - 1, memo) + memoizedHelper(n - 2, memo);
-        memo.put(n, result);
-        return result;
+        return returned;
     }
 
-    public Map<Integer, Long> getMemoizedWithVisualization(int n) {
-        resetCounters();
-        Map<Integer, Long> memo = new HashMap<>();
-        memoizedHelper(n, memo);
-        return memo;
+    public long tabulated(int n) {
+        if (FibonacciCache.fitsInLong(n)) return cache.getLong(n);
+        return tabulatedRolling(n);
     }
 
-    public long tabulated(int n) {
+    private long tabulatedRolling(int n) {
         if (n <= 1) return n;
 
-        long[] dp = new long[n + 1];
-        dp[0] = 0;
-        dp[1] = 1;
+        // Only the last two cells of the dp table are ever read, so keep just those
+        long previous = 0;
+        long current = 1;
 
         for (int i = 2; i <= n; i++) {
-            dp[i] = dp[i - 1] + dp[i - 2];
+            long next = previous + current;
+            previous = current;
+            current = next;
         }
 
-        return dp[n];
+        return current;
     }
 
-    public List<Long> getTabulatedWithSteps(int n) {
-        List<Long> dp = new ArrayList<>(n + 1);
+    public FibRun runTabulated(int n) {
+        return runTabulated(n, CancellationToken.NONE);
+    }
 
-        // Initialize with zeros
-        for (int i = 0; i <= n; i++) {
-            dp.add(0L);
-        }
+    public FibRun runTabulated(int n, CancellationToken token) {
+        // At most 92 additions fit in a long, so one check up front is enough
+        token.throwIfCancelled();
+        RunProbe probe = RunProbe.start(measureMemory);
+        long start = System.nanoTime();
+        long result = tabulatedRolling(n);
+        long elapsed = System.nanoTime() - start;
+        return finish(new FibRun(FibEngine.TABULATED, n, BigInteger.valueOf(result), elapsed,
+                0, 0, CallTrace.DISABLED, null, null), probe);
+    }
+
+    public long[] getTabulatedWithSteps(int n) {
+        long[] dp = new long[n + 1];
 
         // Set base cases
-        if (n >= 0) dp.set(0, 0L);
-        if (n >= 1) dp.set(1, 1L);
+        if (n >= 1) dp[1] = 1;
 
         // Calculate remaining values
         for (int i = 2; i <= n; i++) {
-            dp.set(i, dp.get(i - 1) + dp.get(i - 2));
+            dp[i] = dp[i - 1] + dp[i - 2];
         }
 
         return dp;
     }
+
+    public PrimitiveIterator.OfLong tabulatedIterator(int n) {
+        return Spliterators.iterator(new FibonacciSpliterator(n));
+    }
+
+    public LongStream tabulatedStream(int n) {
+        return StreamSupport.longStream(new FibonacciSpliterator(n), false);
+    }
+
+    public BigInteger fastDoubling(int n) {
+        return cache.computeIfAbsent(n, k -> fastDoubling(k, new RunCounters(CancellationToken.NONE)));
+    }
+
+    public FibRun runFastDoubling(int n) {
+        return runFastDoubling(n, CancellationToken.NONE);
+    }
+
+    public FibRun runFastDoubling(int n, CancellationToken token) {
+        RunCounters counters = new RunCounters(token);
+        RunProbe probe = RunProbe.start(measureMemory);
+        long start = System.nanoTime();
+        BigInteger result = fastDoubling(n, counters);
+        long elapsed = System.nanoTime() - start;
+        cache.put(n, result);
+        return finish(new FibRun(FibEngine.FAST_DOUBLING, n, result, elapsed,
+                counters.calls, 0, CallTrace.DISABLED, null, null), probe);
+    }
+
+    // Each doubling step is reported as one call
+    private BigInteger fastDoubling(int n, RunCounters counters) {
+        return fastDoublingPair(n, counters)[0];
+    }
+
+    // {F(n), F(n+1)}
+    private BigInteger[] fastDoublingPair(int n, RunCounters counters) {
+        // a = F(k), b = F(k+1), starting from k = 0
+        BigInteger a = BigInteger.ZERO;
+        BigInteger b = BigInteger.ONE;
+
+        // Walk the bits of n from the most significant one down:
+        // F(2k)   = F(k) * (2F(k+1) - F(k))
+        // F(2k+1) = F(k)^2 + F(k+1)^2
+        for (int bit = 31 - Integer.numberOfLeadingZeros(n); bit >= 0; bit--) {
+            // A single step can take seconds for huge n, so check before every one
+            counters.token.throwIfCancelled();
+            BigInteger c = a.multiply(b.shiftLeft(1).subtract(a));
+            BigInteger d = a.multiply(a).add(b.multiply(b));
+            counters.calls++;
+
+            if (((n >>> bit) & 1) == 0) {
+                a = c;
+                b = d;
+            } else {
+                a = d;
+                b = c.add(d);
+            }
+        }
+
+        return new BigInteger[]{a, b};
+    }
+
+    // F(n) for every index in ns, sharing work between them: the distinct indices are evaluated in ascending
+    // order, each one continuing from the previous answer instead of starting again from F(0).
+    public BatchRun batch(int[] ns, CancellationToken token) {
+        RunCounters counters = new RunCounters(token);
+        RunProbe probe = RunProbe.start(measureMemory);
+        long start = System.nanoTime();
+
+        int[] distinct = Arrays.stream(ns).sorted().distinct().toArray();
+        if (distinct.length > 0 && distinct[0] < 0) {
+            throw new IllegalArgumentException("n must be a non-negative integer, got " + distinct[0]);
+        }
+        BigInteger[] distinctValues = evaluateAscending(distinct, counters);
+
+        BigInteger[] values = new BigInteger[ns.length];
+        for (int i = 0; i < ns.length; i++) {
+            values[i] = distinctValues[Arrays.binarySearch(distinct, ns[i])];
+        }
+        long elapsed = System.nanoTime() - start;
+        probe.end("batch", ns.length, elapsed, counters.calls, 0);
+        return new BatchRun(ns.length, distinct.length, values, elapsed, counters.calls);
+    }
+
+    public BatchRun batch(int[] ns) {
+        return batch(ns, CancellationToken.NONE);
+    }
+
+    // Sum of F(from[i]) .. F(to[i]) for every range, from the identity F(a) + ... + F(b) = F(b+2) - F(a+1).
+    // All endpoints go through one batch, so overlapping and neighbouring ranges share their evaluations.
+    public BatchRun rangeSums(int[] from, int[] to, CancellationToken token) {
+        if (from.length != to.length) {
+            throw new IllegalArgumentException("Got " + from.length + " range starts but " + to.length + " ends");
+        }
+
+        int[] endpoints = new int[from.length * 2];
+        for (int i = 0; i < from.length; i++) {
+            if (from[i] < 0 || from[i] > to[i]) {
+                throw new IllegalArgumentException("Invalid range " + from[i] + ".." + to[i]);
+            }
+            endpoints[2 * i] = Math.addExact(from[i], 1);
+            endpoints[2 * i + 1] = Math.addExact(to[i], 2);
+        }
+
+        BatchRun fibs = batch(endpoints, token);
+        BigInteger[] sums = new BigInteger[from.length];
+        for (int i = 0; i < sums.length; i++) {
+            sums[i] = fibs.values()[2 * i + 1].subtract(fibs.values()[2 * i]);
+        }
+        return new BatchRun(from.length, fibs.distinctIndices(), sums, fibs.elapsedNanos(), fibs.steps());
+    }
+
+    public BigInteger rangeSum(int from, int to) {
+        return rangeSums(new int[]{from}, new int[]{to}, CancellationToken.NONE).values()[0];
+    }
+
+    // Moves a running (F(k), F(k+1)) pair up to each index in turn. Small gaps are walked by addition, which
+    // makes dense batches a single tabulation sweep; larger gaps jump using
+    //   F(k+d)   = F(k+1) F(d) + F(k) (F(d+1) - F(d))
+    //   F(k+d+1) = F(k+1) F(d+1) + F(k) F(d)
+    // where F(d) is much smaller than F(k). A gap wider than k itself gains nothing, so that index starts over.
+    private BigInteger[] evaluateAscending(int[] sorted, RunCounters counters) {
+        BigInteger[] values = new BigInteger[sorted.length];
+        int k = -1;
+        BigInteger fk = null;
+        BigInteger fk1 = null;
+
+        for (int i = 0; i < sorted.length; i++) {
+            counters.token.throwIfCancelled();
+            int n = sorted[i];
+            int gap = n - k;
+
+            if (k < 0 || gap > k) {
+                BigInteger[] pair = fastDoublingPair(n, counters);
+                fk = pair[0];
+                fk1 = pair[1];
+            } else if (gap <= BATCH_WALK_LIMIT) {
+                for (int step = 0; step < gap; step++) {
+                    BigInteger next = fk.add(fk1);
+                    fk = fk1;
+                    fk1 = next;
+                    counters.countCall();
+                }
+            } else {
+                BigInteger[] jump = fastDoublingPair(gap, counters);
+                BigInteger next = fk1.multiply(jump[1]).add(fk.multiply(jump[0]));
+                fk = fk1.multiply(jump[0]).add(fk.multiply(jump[1].subtract(jump[0])));
+                fk1 = next;
+                counters.calls++;
+            }
+
+            k = n;
+            values[i] = fk;
+        }
+        return values;
+    }
+
+    // F(n) mod m for any n up to Long.MAX_VALUE; n is first reduced by the cached Pisano period of m
+    public long fibMod(long n, long m) {
+        return ModularFibonacci.fibMod(reduce(n, pisanoPeriods.periodOf(m)), m);
+    }
+
+    public ModularRun runModular(long n, long m) {
+        return runModular(n, m, CancellationToken.NONE);
+    }
+
+    public ModularRun runModular(long n, long m, CancellationToken token) {
+        RunCounters counters = new RunCounters(token);
+        RunProbe probe = RunProbe.start(measureMemory);
+        long start = System.nanoTime();
+        boolean periodCached = pisanoPeriods.isCached(m);
+        long period = pisanoPeriods.periodOf(m);
+        long reducedN = reduce(n, period);
+        // Each doubling step is reported as one call; there are at most 63 of them, so check before every one
+        long value = ModularFibonacci.pair(reducedN, m, () -> {
+            counters.token.throwIfCancelled();
+            counters.calls++;
+        })[0];
+        long elapsed = System.nanoTime() - start;
+        probe.end("modular", n, elapsed, counters.calls, periodCached ? 1 : 0);
+        return new ModularRun(n, m, value, period, reducedN, periodCached, elapsed, counters.calls);
+    }
+
+    private static long reduce(long n, long period) {
+        return period == PisanoPeriods.UNKNOWN ? n : n % period;
+    }
+
+    private FibRun finish(FibRun run, RunProbe probe) {
+        FibRun measured = measureMemory ? run.withMemory(probe.allocatedBytes()) : run;
+        stats.record(measured);
+        probe.end(measured);
+        return measured;
+    }
+
+    // Per-run counters; each computation gets its own instance, so concurrent runs never share state
+    private static final class RunCounters {
+        final CancellationToken token;
+        long calls;
+        long cacheHits;
+
+        RunCounters(CancellationToken token) {
+            this.token = token;
+        }
+
+        void countCall() {
+            if ((++calls & CANCEL_CHECK_MASK) == 0) {
+                token.throwIfCancelled();
+            }
+        }
+    }
 }
@@ -0,0 +1,60 @@
+package org.example.fibonaccivisualization.model;
+
+import java.util.Spliterator;
+import java.util.function.LongConsumer;
+
+public class FibonacciSpliterator implements Spliterator.OfLong {
+    private int index;
+    private final int end;
+    private long current = 0;  // F(index)
+    private long next = 1;     // F(index + 1)
+
+    // Produces F(0), F(1), ..., F(n)
+    public FibonacciSpliterator(int n) {
+        this.index = 0;
+        this.end = n + 1;
+    }
+
+    @Override
+    public boolean tryAdvance(LongConsumer action) {
+        if (index >= end) return false;
+
+        action.accept(current);
+        long sum = current + next;
+        current = next;
+        next = sum;
+        index++;
+        return true;
+    }
+
+    @Override
+    public void forEachRemaining(LongConsumer action) {
+        long a = current;
+        long b = next;
+        for (int i = index; i < end; i++) {
+            action.accept(a);
+            long sum = a + b;
+            a = b;
+            b = sum;
+        }
+        current = a;
+        next = b;
+        index = end;
+    }
+
+    @Override
+    public Spliterator.OfLong trySplit() {
+        // Every value depends on the two before it, and n is small enough that splitting never pays off
+        return null;
+    }
+
+    @Override
+    public long estimateSize() {
+        return Math.max(0, end - index);
+    }
+
+    @Override
+    public int characteristics() {
+        return ORDERED | SIZED | SUBSIZED | IMMUTABLE | NONNULL;
+    }
+}
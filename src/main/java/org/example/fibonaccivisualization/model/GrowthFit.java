@@ -0,0 +1,77 @@
+package org.example.fibonaccivisualization.model;
+
+// Least-squares fit of a cost curve in log space, as either exponential (cost = c * base^n) or power law
+// (cost = c * n^k), whichever explains the points better.
+public record GrowthFit(Kind kind, double intercept, double slope, double rSquared) {
+    public enum Kind { EXPONENTIAL, POWER_LAW }
+
+    // Points with n < 1 or a non-positive cost have no logarithm and are ignored; needs at least two others
+    public static GrowthFit fit(double[] ns, double[] costs) {
+        int count = 0;
+        for (int i = 0; i < ns.length; i++) {
+            if (ns[i] >= 1 && costs[i] > 0) count++;
+        }
+        if (count < 2) return null;
+
+        double[] xs = new double[count];
+        double[] logXs = new double[count];
+        double[] logYs = new double[count];
+        for (int i = 0, j = 0; i < ns.length; i++) {
+            if (ns[i] >= 1 && costs[i] > 0) {
+                xs[j] = ns[i];
+                logXs[j] = Math.log10(ns[i]);
+                logYs[j] = Math.log10(costs[i]);
+                j++;
+            }
+        }
+
+        GrowthFit exponential = leastSquares(Kind.EXPONENTIAL, xs, logYs);
+        GrowthFit powerLaw = leastSquares(Kind.POWER_LAW, logXs, logYs);
+        return exponential.rSquared >= powerLaw.rSquared ? exponential : powerLaw;
+    }
+
+    public double valueAt(double n) {
+        double x = kind == Kind.EXPONENTIAL ? n : Math.log10(n);
+        return Math.pow(10, intercept + slope * x);
+    }
+
+    public String describe() {
+        return kind == Kind.EXPONENTIAL
+                ? String.format("~%.3f^n (R² %.3f)", Math.pow(10, slope), rSquared)
+                : String.format("~n^%.2f (R² %.3f)", slope, rSquared);
+    }
+
+    private static GrowthFit leastSquares(Kind kind, double[] xs, double[] ys) {
+        int count = xs.length;
+        double meanX = 0;
+        double meanY = 0;
+        for (int i = 0; i < count; i++) {
+            meanX += xs[i];
+            meanY += ys[i];
+        }
+        meanX /= count;
+        meanY /= count;
+
+        double covariance = 0;
+        double varianceX = 0;
+        double varianceY = 0;
+        for (int i = 0; i < count; i++) {
+            covariance += (xs[i] - meanX) * (ys[i] - meanY);
+            varianceX += (xs[i] - meanX) * (xs[i] - meanX);
+            varianceY += (ys[i] - meanY) * (ys[i] - meanY);
+        }
+
+        double slope = varianceX == 0 ? 0 : covariance / varianceX;
+        double intercept = meanY - slope * meanX;
+        // A flat cost is explained perfectly by either model; a single distinct x explains nothing
+        double rSquared;
+        if (varianceY == 0) {
+            rSquared = 1;
+        } else if (varianceX == 0) {
+            rSquared = 0;
+        } else {
+            rSquared = (covariance * covariance) / (varianceX * varianceY);
+        }
+        return new GrowthFit(kind, intercept, slope, rSquared);
+    }
+}
@@ -0,0 +1,33 @@
+package org.example.fibonaccivisualization.model;
+
+import java.math.BigInteger;
+
+// Shallow sizes on a 64-bit HotSpot JVM with compressed oops: 12-byte object headers, 16-byte array headers,
+// 4-byte references and 8-byte alignment. Estimates for what a result keeps alive, not exact measurements.
+final class HeapSizes {
+    static final int REFERENCE = 4;
+    private static final int OBJECT_HEADER = 12;
+    private static final int ARRAY_HEADER = 16;
+
+    // BigInteger: signum, mag and four cached int fields
+    private static final long BIG_INTEGER = object(REFERENCE + 5 * Integer.BYTES);
+
+    private HeapSizes() {
+    }
+
+    static long object(long fieldBytes) {
+        return align(OBJECT_HEADER + fieldBytes);
+    }
+
+    static long array(long length, int elementBytes) {
+        return align(ARRAY_HEADER + length * elementBytes);
+    }
+
+    static long of(BigInteger value) {
+        return BIG_INTEGER + array((value.bitLength() + 31) / 32, Integer.BYTES);
+    }
+
+    private static long align(long bytes) {
+        return (bytes + 7) & ~7L;
+    }
+}
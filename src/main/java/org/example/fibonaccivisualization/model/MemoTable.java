@@ -0,0 +1,46 @@
+package org.example.fibonaccivisualization.model;
+
+import java.util.Arrays;
+
+public class MemoTable {
+    // Fibonacci numbers are never negative, so -1 marks a cell that has not been filled yet
+    private static final long EMPTY = -1;
+
+    private final long[] values;
+    private final int[] callCounts;
+
+    public MemoTable(int n) {
+        values = new long[n + 1];
+        callCounts = new int[n + 1];
+        Arrays.fill(values, EMPTY);
+    }
+
+    public int size() {
+        return values.length;
+    }
+
+    public long retainedBytes() {
+        return HeapSizes.object(2L * HeapSizes.REFERENCE) + HeapSizes.array(values.length, Long.BYTES)
+                + HeapSizes.array(callCounts.length, Integer.BYTES);
+    }
+
+    public boolean isFilled(int k) {
+        return values[k] != EMPTY;
+    }
+
+    public long get(int k) {
+        return values[k];
+    }
+
+    public int getCallCount(int k) {
+        return callCounts[k];
+    }
+
+    void put(int k, long value) {
+        values[k] = value;
+    }
+
+    void recordCall(int k) {
+        callCounts[k]++;
+    }
+}
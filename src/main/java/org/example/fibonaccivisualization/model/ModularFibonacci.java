@@ -0,0 +1,87 @@
+package org.example.fibonaccivisualization.model;
+
+// F(n) mod m for any long n and modulus m >= 1 by fast doubling, without BigInteger. Residues stay below m,
+// but their products can need 126 bits, so multiplication falls back to shift-and-add for large moduli.
+public final class ModularFibonacci {
+    // Below this, (m - 1)^2 still fits in a long and a plain multiply is exact
+    private static final long DIRECT_MULTIPLY_LIMIT = 3_037_000_499L;
+
+    private ModularFibonacci() {
+    }
+
+    public static long fibMod(long n, long m) {
+        return pair(n, m, null)[0];
+    }
+
+    // {F(n) mod m, F(n + 1) mod m}; steps, if given, hears about every doubling step
+    static long[] pair(long n, long m, StepListener steps) {
+        if (n < 0) throw new IllegalArgumentException("n must be non-negative, got " + n);
+        if (m < 1) throw new IllegalArgumentException("Modulus must be at least 1, got " + m);
+
+        // a = F(k), b = F(k+1), starting from k = 0
+        long a = 0;
+        long b = 1 % m;
+
+        // Same recurrences as the BigInteger engine:
+        // F(2k)   = F(k) * (2F(k+1) - F(k))
+        // F(2k+1) = F(k)^2 + F(k+1)^2
+        for (int bit = 63 - Long.numberOfLeadingZeros(n); bit >= 0; bit--) {
+            if (steps != null) steps.step();
+            long c = mulMod(a, subMod(addMod(b, b, m), a, m), m);
+            long d = addMod(mulMod(a, a, m), mulMod(b, b, m), m);
+
+            if (((n >>> bit) & 1) == 0) {
+                a = c;
+                b = d;
+            } else {
+                a = d;
+                b = addMod(c, d, m);
+            }
+        }
+
+        return new long[]{a, b};
+    }
+
+    // a * b mod m for residues a, b in [0, m)
+    public static long mulMod(long a, long b, long m) {
+        if (m <= DIRECT_MULTIPLY_LIMIT) {
+            return a * b % m;
+        }
+
+        long result = 0;
+        while (b > 0) {
+            if ((b & 1) != 0) {
+                result = addMod(result, a, m);
+            }
+            a = addMod(a, a, m);
+            b >>>= 1;
+        }
+        return result;
+    }
+
+    static long powMod(long base, long exponent, long m) {
+        long result = 1 % m;
+        base %= m;
+        while (exponent > 0) {
+            if ((exponent & 1) != 0) {
+                result = mulMod(result, base, m);
+            }
+            base = mulMod(base, base, m);
+            exponent >>>= 1;
+        }
+        return result;
+    }
+
+    // Written so that a + b never leaves the long range, even for m close to Long.MAX_VALUE
+    private static long addMod(long a, long b, long m) {
+        return a >= m - b ? a - (m - b) : a + b;
+    }
+
+    private static long subMod(long a, long b, long m) {
+        return a >= b ? a - b : a + (m - b);
+    }
+
+    interface StepListener {
+        void step();
+    }
+}
@@ -0,0 +1,10 @@
+package org.example.fibonaccivisualization.model;
+
+// Outcome of one F(n) mod m computation. reducedN is n mod pi(m) when the Pisano period is known, otherwise n.
+public record ModularRun(long n, long modulus, long value, long period, long reducedN, boolean periodCached,
+                         long elapsedNanos, long calls) {
+
+    public boolean isPeriodKnown() {
+        return period != PisanoPeriods.UNKNOWN;
+    }
+}
@@ -0,0 +1,288 @@
+package org.example.fibonaccivisualization.model;
+
+import java.math.BigInteger;
+import java.time.Duration;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveAction;
+import java.util.concurrent.RecursiveTask;
+
+public class ParallelFibonacciCalculator {
+    // Below this many bits a single BigInteger.multiply (Toom-Cook 3) is cheaper than splitting further
+    private static final int DEFAULT_THRESHOLD_BITS = 1 << 17;
+
+    // Subtrees of F(20) and below (about 20k calls) run sequentially; forking them costs more than they do
+    private static final int DEFAULT_RECURSIVE_THRESHOLD = 20;
+
+    // Used when the caller brings no harness of its own; one sample at n = 10^6 takes around a tenth of a second
+    private static final int SPEEDUP_WARMUP_ITERATIONS = 3;
+    private static final int SPEEDUP_MEASUREMENT_ITERATIONS = 10;
+    private static final Duration SPEEDUP_BUDGET = Duration.ofSeconds(5);
+
+    private final ForkJoinPool pool;
+    private final int thresholdBits;
+    private final int recursiveThreshold;
+    private final CalculatorStats stats;
+    private volatile boolean measureMemory;
+
+    public ParallelFibonacciCalculator() {
+        this(new CalculatorStats());
+    }
+
+    // Pass the sequential calculator's stats so that parallel runs are counted alongside every other engine
+    public ParallelFibonacciCalculator(CalculatorStats stats) {
+        this(Runtime.getRuntime().availableProcessors(), DEFAULT_THRESHOLD_BITS, DEFAULT_RECURSIVE_THRESHOLD, stats);
+    }
+
+    public ParallelFibonacciCalculator(int parallelism, int thresholdBits, int recursiveThreshold) {
+        this(parallelism, thresholdBits, recursiveThreshold, new CalculatorStats());
+    }
+
+    public ParallelFibonacciCalculator(int parallelism, int thresholdBits, int recursiveThreshold,
+                                       CalculatorStats stats) {
+        this.pool = new ForkJoinPool(parallelism);
+        this.thresholdBits = thresholdBits;
+        this.recursiveThreshold = Math.max(1, recursiveThreshold);
+        this.stats = stats;
+    }
+
+    public CalculatorStats getStats() {
+        return stats;
+    }
+
+    // Same switch as FibonacciCalculator.setMeasureMemory
+    public void setMeasureMemory(boolean measureMemory) {
+        this.measureMemory = measureMemory;
+    }
+
+    public int getRecursiveThreshold() {
+        return recursiveThreshold;
+    }
+
+    public long recursive(int n) {
+        RecursiveFibTask task = new RecursiveFibTask(n, recursiveThreshold, CancellationToken.NONE);
+        pool.invoke(task);
+        return task.value;
+    }
+
+    public FibRun runRecursive(int n) {
+        return runRecursive(n, CancellationToken.NONE);
+    }
+
+    public FibRun runRecursive(int n, CancellationToken token) {
+        RecursiveFibTask task = new RecursiveFibTask(n, recursiveThreshold, token);
+        RunProbe probe = RunProbe.start(measureMemory);
+        long start = System.nanoTime();
+        pool.invoke(task);
+        long elapsed = System.nanoTime() - start;
+        FibRun run = new FibRun(FibEngine.PARALLEL_RECURSIVE, n, BigInteger.valueOf(task.value), elapsed,
+                task.calls, 0, CallTrace.DISABLED, null, null);
+        if (measureMemory) {
+            // Worker threads allocate too; the probe only sees the submitting thread's share
+            run = run.withMemory(probe.allocatedBytes());
+        }
+        stats.record(run);
+        probe.end(run);
+        return run;
+    }
+
+    public int getParallelism() {
+        return pool.getParallelism();
+    }
+
+    public BigInteger fastDoubling(int n) {
+        return fastDoubling(n, CancellationToken.NONE);
+    }
+
+    public BigInteger fastDoubling(int n, CancellationToken token) {
+        BigInteger a = BigInteger.ZERO;
+        BigInteger b = BigInteger.ONE;
+
+        for (int bit = 31 - Integer.numberOfLeadingZeros(n); bit >= 0; bit--) {
+            token.throwIfCancelled();
+            BigInteger c;
+            BigInteger d;
+
+            if (a.bitLength() < thresholdBits) {
+                // Early steps are tiny; the fork/join overhead would dominate
+                c = a.multiply(b.shiftLeft(1).subtract(a));
+                d = a.multiply(a).add(b.multiply(b));
+            } else {
+                // The three products of a doubling step are independent, and each one is split further
+                MultiplyTask twoStep = new MultiplyTask(a, b.shiftLeft(1).subtract(a));
+                MultiplyTask aSquared = new MultiplyTask(a, a);
+                MultiplyTask bSquared = new MultiplyTask(b, b);
+                pool.invoke(new StepTask(twoStep, aSquared, bSquared));
+                c = twoStep.join();
+                d = aSquared.join().add(bSquared.join());
+            }
+
+            if (((n >>> bit) & 1) == 0) {
+                a = c;
+                b = d;
+            } else {
+                a = d;
+                b = c.add(d);
+            }
+        }
+
+        return a;
+    }
+
+    public BigInteger multiply(BigInteger x, BigInteger y) {
+        return pool.invoke(new MultiplyTask(x, y));
+    }
+
+    public SpeedupReport measureSpeedup(int n, FibonacciCalculator sequential) {
+        return measureSpeedup(n, sequential, CancellationToken.NONE);
+    }
+
+    public SpeedupReport measureSpeedup(int n, FibonacciCalculator sequential, CancellationToken token) {
+        return measureSpeedup(n, sequential,
+                new TimingHarness(SPEEDUP_WARMUP_ITERATIONS, SPEEDUP_MEASUREMENT_ITERATIONS, SPEEDUP_BUDGET), token);
+    }
+
+    // Both paths are warmed up and timed by the same harness, so the ratio compares medians rather than one
+    // cold run of each that mostly measures JIT compilation and pool start-up
+    public SpeedupReport measureSpeedup(int n, FibonacciCalculator sequential, TimingHarness harness,
+                                        CancellationToken token) {
+        // runFastDoubling always computes, so the shared value cache can't hide the single-threaded cost
+        TimingHarness.Measured<FibRun> baseline = harness.measure(() -> sequential.runFastDoubling(n, token));
+        TimingHarness.Measured<BigInteger> parallel = harness.measure(() -> fastDoubling(n, token));
+
+        BigInteger expected = baseline.lastResult().value();
+        BigInteger actual = parallel.lastResult();
+        if (!expected.equals(actual)) {
+            throw new IllegalStateException("Parallel fast doubling disagrees with the sequential result for n = " + n);
+        }
+
+        return new SpeedupReport(n, actual, baseline.stats(), parallel.stats(), getParallelism());
+    }
+
+    public void shutdown() {
+        pool.shutdown();
+    }
+
+    public record SpeedupReport(int n, BigInteger result, TimingStats sequential, TimingStats parallel,
+                                int parallelism) {
+        public long sequentialNanos() {
+            return sequential.p50Nanos();
+        }
+
+        public long parallelNanos() {
+            return parallel.p50Nanos();
+        }
+
+        public double speedup() {
+            return parallelNanos() == 0 ? 0 : (double) sequentialNanos() / parallelNanos();
+        }
+    }
+
+    // The same exponential algorithm as FibonacciCalculator.recursive, with every call above the threshold forked
+    private static final class RecursiveFibTask extends RecursiveAction {
+        private static final long serialVersionUID = 1L;
+
+        private final int n;
+        private final int threshold;
+        private final transient CancellationToken token;
+        private long value;
+        private long calls;
+
+        RecursiveFibTask(int n, int threshold, CancellationToken token) {
+            this.n = n;
+            this.threshold = threshold;
+            this.token = token;
+        }
+
+        @Override
+        protected void compute() {
+            token.throwIfCancelled();
+            if (n <= threshold) {
+                value = sequential(n);
+                return;
+            }
+
+            RecursiveFibTask left = new RecursiveFibTask(n - 1, threshold, token);
+            RecursiveFibTask right = new RecursiveFibTask(n - 2, threshold, token);
+            right.fork();
+            left.compute();
+            right.join();
+
+            value = left.value + right.value;
+            calls = 1 + left.calls + right.calls;
+        }
+
+        private long sequential(int k) {
+            if ((++calls & 0xFFFF) == 0) {
+                token.throwIfCancelled();
+            }
+            if (k <= 1) return k;
+            return sequential(k - 1) + sequential(k - 2);
+        }
+    }
+
+    private static final class StepTask extends RecursiveTask<Void> {
+        private static final long serialVersionUID = 1L;
+
+        private final MultiplyTask[] products;
+
+        StepTask(MultiplyTask... products) {
+            this.products = products;
+        }
+
+        @Override
+        protected Void compute() {
+            invokeAll(products);
+            return null;
+        }
+    }
+
+    private final class MultiplyTask extends RecursiveTask<BigInteger> {
+        private static final long serialVersionUID = 1L;
+
+        private final BigInteger x;
+        private final BigInteger y;
+
+        MultiplyTask(BigInteger x, BigInteger y) {
+            this.x = x;
+            this.y = y;
+        }
+
+        @Override
+        protected BigInteger compute() {
+            if (x.signum() < 0 || y.signum() < 0) {
+                BigInteger product = new MultiplyTask(x.abs(), y.abs()).compute();
+                return x.signum() * y.signum() < 0 ? product.negate() : product;
+            }
+
+            if (Math.min(x.bitLength(), y.bitLength()) < thresholdBits) {
+                return x.multiply(y);
+            }
+
+            // Karatsuba split on a word boundary: x = xh*2^half + xl, y = yh*2^half + yl
+            int half = (Math.max(x.bitLength(), y.bitLength()) / 2) & ~31;
+            if (half == 0) {
+                // Under 64 bits there is no word to split on, and splitting at 0 would recurse forever
+                return x.multiply(y);
+            }
+            BigInteger xHigh = x.shiftRight(half);
+            BigInteger xLow = x.subtract(xHigh.shiftLeft(half));
+            BigInteger yHigh = y.shiftRight(half);
+            BigInteger yLow = y.subtract(yHigh.shiftLeft(half));
+
+            MultiplyTask high = new MultiplyTask(xHigh, yHigh);
+            MultiplyTask low = new MultiplyTask(xLow, yLow);
+            MultiplyTask middle = new MultiplyTask(xHigh.add(xLow), yHigh.add(yLow));
+
+            high.fork();
+            low.fork();
+            BigInteger z1 = middle.compute();
+            BigInteger z0 = low.join();
+            BigInteger z2 = high.join();
+
+            // x*y = z2*2^(2*half) + (z1 - z2 - z0)*2^half + z0
+            return z2.shiftLeft(2 * half)
+                    .add(z1.subtract(z2).subtract(z0).shiftLeft(half))
+                    .add(z0);
+        }
+    }
+}
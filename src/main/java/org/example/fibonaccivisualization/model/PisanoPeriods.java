@@ -0,0 +1,178 @@
+package org.example.fibonaccivisualization.model;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.TreeSet;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAdder;
+
+// Pisano periods pi(m), the period of F(n) mod m, cached per modulus so repeated queries can reduce n first.
+// pi(m) is found without walking the sequence: a multiple of it follows from the factorization of m, and
+// dividing out primes while F(L) = 0, F(L + 1) = 1 (mod m) still holds leaves the exact period. A period that
+// cannot be found (m has two prime factors above 2^20, or the period overflows a long) is cached as UNKNOWN.
+public class PisanoPeriods {
+    public static final long UNKNOWN = 0;
+
+    // Trial division stops here; one larger cofactor is still handled by a primality test
+    private static final long TRIAL_DIVISION_LIMIT = 1 << 20;
+    private static final int MAX_ENTRIES = 4_096;
+
+    // Deterministic Miller-Rabin witnesses for every n below 3.3 * 10^24
+    private static final long[] WITNESSES = {2, 3, 5, 7, 11, 13, 17, 19, 23, 29, 31, 37};
+
+    private static final PisanoPeriods SHARED = new PisanoPeriods();
+
+    private final ConcurrentHashMap<Long, Long> periods = new ConcurrentHashMap<>();
+    private final LongAdder hits = new LongAdder();
+    private final LongAdder misses = new LongAdder();
+
+    public static PisanoPeriods shared() {
+        return SHARED;
+    }
+
+    public long periodOf(long m) {
+        if (m < 1) throw new IllegalArgumentException("Modulus must be at least 1, got " + m);
+
+        Long cached = periods.get(m);
+        if (cached != null) {
+            hits.increment();
+            return cached;
+        }
+        misses.increment();
+
+        // Computing takes at most a few milliseconds; two threads racing on the same m agree on the answer
+        long period = compute(m);
+        if (periods.size() < MAX_ENTRIES) {
+            periods.putIfAbsent(m, period);
+        }
+        return period;
+    }
+
+    public boolean isCached(long m) {
+        return periods.containsKey(m);
+    }
+
+    public int size() {
+        return periods.size();
+    }
+
+    public long getHits() {
+        return hits.sum();
+    }
+
+    public long getMisses() {
+        return misses.sum();
+    }
+
+    private static long compute(long m) {
+        if (m == 1) return 1;
+
+        List<long[]> factors = factor(m);
+        if (factors == null) return UNKNOWN;
+
+        // pi(p^k) divides p^(k-1) * pi(p), and pi(p) divides p - 1 or 2(p + 1) depending on p mod 5
+        TreeSet<Long> primes = new TreeSet<>();
+        long multiple = 1;
+        try {
+            for (long[] factor : factors) {
+                long p = factor[0];
+                long bound;
+                if (p == 2) {
+                    bound = 3;
+                } else if (p == 5) {
+                    bound = 20;
+                } else if (p % 5 == 1 || p % 5 == 4) {
+                    bound = p - 1;
+                } else {
+                    bound = Math.multiplyExact(2, Math.addExact(p, 1));
+                }
+
+                List<long[]> boundFactors = factor(bound);
+                if (boundFactors == null) return UNKNOWN;
+                for (long[] boundFactor : boundFactors) {
+                    primes.add(boundFactor[0]);
+                }
+
+                long local = bound;
+                for (int k = 1; k < factor[1]; k++) {
+                    local = Math.multiplyExact(local, p);
+                }
+                if (factor[1] > 1) primes.add(p);
+
+                multiple = lcm(multiple, local);
+            }
+        } catch (ArithmeticException overflow) {
+            return UNKNOWN;
+        }
+
+        // Shrink the multiple to the exact period one prime at a time
+        long period = multiple;
+        for (long q : primes) {
+            while (period % q == 0 && isPeriod(period / q, m)) {
+                period /= q;
+            }
+        }
+        return period;
+    }
+
+    private static boolean isPeriod(long length, long m) {
+        long[] pair = ModularFibonacci.pair(length, m, null);
+        return pair[0] == 0 && pair[1] == 1;
+    }
+
+    private static long lcm(long a, long b) {
+        return Math.multiplyExact(a / gcd(a, b), b);
+    }
+
+    private static long gcd(long a, long b) {
+        while (b != 0) {
+            long t = a % b;
+            a = b;
+            b = t;
+        }
+        return a;
+    }
+
+    // {prime, exponent} pairs in ascending order, or null when the number cannot be fully factored
+    private static List<long[]> factor(long value) {
+        List<long[]> factors = new ArrayList<>();
+        for (long d = 2; d <= TRIAL_DIVISION_LIMIT && d * d <= value; d += d == 2 ? 1 : 2) {
+            if (value % d == 0) {
+                int exponent = 0;
+                while (value % d == 0) {
+                    value /= d;
+                    exponent++;
+                }
+                factors.add(new long[]{d, exponent});
+            }
+        }
+
+        // What is left has no factor up to the trial limit, so below its square it must be prime
+        if (value > 1) {
+            if (value > TRIAL_DIVISION_LIMIT * TRIAL_DIVISION_LIMIT && !isProbablePrime(value)) {
+                return null;
+            }
+            factors.add(new long[]{value, 1});
+        }
+        return factors;
+    }
+
+    private static boolean isProbablePrime(long n) {
+        long d = n - 1;
+        int r = Long.numberOfTrailingZeros(d);
+        d >>= r;
+
+        for (long a : WITNESSES) {
+            long x = ModularFibonacci.powMod(a, d, n);
+            if (x == 1 || x == n - 1) continue;
+
+            boolean composite = true;
+            for (int i = 1; i < r && composite; i++) {
+                x = ModularFibonacci.mulMod(x, x, n);
+                if (x == n - 1) composite = false;
+            }
+            if (composite) return false;
+        }
+        return true;
+    }
+}
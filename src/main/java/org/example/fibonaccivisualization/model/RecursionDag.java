@@ -0,0 +1,93 @@
+package org.example.fibonaccivisualization.model;
+
+import java.math.BigInteger;
+
+public class RecursionDag {
+    private final FibNode[] nodes;
+
+    public RecursionDag(int n) {
+        // Results and multiplicities (at most F(n)) are longs, which hold F(k) only up to k = 92
+        if (!FibonacciCache.fitsInLong(n)) {
+            throw new IllegalArgumentException("Recursion DAG needs 0 <= n <= " + FibonacciCache.MAX_LONG_N + ", got " + n);
+        }
+
+        // Hash-consing is trivial here: F(k) is identified by k, so the table index is the key
+        nodes = new FibNode[n + 1];
+        for (int k = 0; k <= n; k++) {
+            if (k <= 1) {
+                nodes[k] = new FibNode(k, null, null, k);
+            } else {
+                nodes[k] = new FibNode(k, nodes[k - 1], nodes[k - 2], nodes[k - 1].result + nodes[k - 2].result);
+            }
+        }
+
+        // F(n) is called once; every call to F(k) with k >= 2 calls F(k-1) and F(k-2) once each
+        nodes[n].multiplicity = 1;
+        for (int k = n; k >= 2; k--) {
+            nodes[k - 1].multiplicity += nodes[k].multiplicity;
+            nodes[k - 2].multiplicity += nodes[k].multiplicity;
+        }
+    }
+
+    public FibNode getRoot() {
+        return nodes[nodes.length - 1];
+    }
+
+    public FibNode getNode(int k) {
+        return nodes[k];
+    }
+
+    public int getNodeCount() {
+        return nodes.length;
+    }
+
+    // The node table plus one FibNode (an int, two references and two longs) per distinct F(k)
+    public long retainedBytes() {
+        long node = HeapSizes.object(Integer.BYTES + 2L * HeapSizes.REFERENCE + 2L * Long.BYTES);
+        return HeapSizes.object(HeapSizes.REFERENCE) + HeapSizes.array(nodes.length, HeapSizes.REFERENCE)
+                + nodes.length * node;
+    }
+
+    // The full tree has 2*F(n+1) - 1 calls, which overflows long for n >= 90
+    public BigInteger getTotalCalls() {
+        BigInteger total = BigInteger.ZERO;
+        for (FibNode node : nodes) {
+            total = total.add(BigInteger.valueOf(node.multiplicity));
+        }
+        return total;
+    }
+
+    // Walks the shared nodes as the full recursion tree in depth-first pre-order (left before right),
+    // without materializing it. The stack never holds more than about 2n entries.
+    public void walk(TreeVisitor visitor) {
+        int capacity = 2 * nodes.length + 2;
+        FibNode[] stack = new FibNode[capacity];
+        int[] depths = new int[capacity];
+        int top = 0;
+        stack[0] = getRoot();
+        depths[0] = 0;
+
+        while (top >= 0) {
+            FibNode node = stack[top];
+            int depth = depths[top];
+            top--;
+
+            if (!visitor.visit(node, depth)) return;
+
+            // Push right first so the left subtree is visited first
+            if (node.right != null) {
+                stack[++top] = node.right;
+                depths[top] = depth + 1;
+            }
+            if (node.left != null) {
+                stack[++top] = node.left;
+                depths[top] = depth + 1;
+            }
+        }
+    }
+
+    public interface TreeVisitor {
+        // Return false to stop the walk early
+        boolean visit(FibNode node, int depth);
+    }
+}
@@ -0,0 +1,98 @@
+package org.example.fibonaccivisualization.model;
+
+import java.math.BigInteger;
+import java.util.Collection;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.TimeUnit;
+
+// Expands a RecursionDag into its full call tree on a background thread and hands the calls over through a
+// bounded queue, so the consumer can build the view a batch at a time. The producer blocks while the queue is
+// full, which keeps memory flat no matter how far ahead of the UI it gets.
+public class RecursionTreeStream {
+    private static final long OFFER_POLL_MILLIS = 20;
+
+    private final RecursionDag dag;
+    private final long totalNodes;
+    private final BlockingQueue<TreeNodeRecord> queue;
+    private volatile boolean closed;
+    private volatile boolean finished;
+
+    public RecursionTreeStream(RecursionDag dag, int capacity) {
+        // Records are numbered with ints, which covers the full tree up to n = 43
+        BigInteger total = dag.getTotalCalls();
+        if (total.bitLength() >= Integer.SIZE) {
+            throw new IllegalArgumentException("Recursion tree of F(" + dag.getRoot().value + ") has " + total
+                    + " calls, too many to stream");
+        }
+        this.dag = dag;
+        this.totalNodes = total.longValue();
+        this.queue = new ArrayBlockingQueue<>(capacity);
+    }
+
+    public int getN() {
+        return dag.getRoot().value;
+    }
+
+    public long getTotalNodes() {
+        return totalNodes;
+    }
+
+    // Runs on the producer thread. Returns the number of records emitted, which is less than getTotalNodes()
+    // if the stream was closed or the token cancelled.
+    public long produce(CancellationToken token) {
+        int[] lastAtDepth = new int[dag.getNodeCount() + 1];
+        long[] emitted = {0};
+        long[] leavesSoFar = {0};
+
+        try {
+            // In pre-order, the leaves already visited are exactly the leaves to the left of the current node
+            dag.walk((node, depth) -> {
+                if (closed || token.isCancelled()) return false;
+
+                int id = (int) emitted[0];
+                int parent = depth == 0 ? -1 : lastAtDepth[depth - 1];
+                if (!offer(new TreeNodeRecord(id, parent, node.value, node.result, depth, leavesSoFar[0]), token)) {
+                    return false;
+                }
+
+                lastAtDepth[depth] = id;
+                emitted[0]++;
+                if (node.left == null && node.right == null) leavesSoFar[0]++;
+                return true;
+            });
+        } finally {
+            finished = true;
+        }
+        return emitted[0];
+    }
+
+    // Runs on the consumer thread; never blocks
+    public int drainTo(Collection<? super TreeNodeRecord> sink, int maxRecords) {
+        return queue.drainTo(sink, maxRecords);
+    }
+
+    // True once the producer has stopped and everything it emitted has been drained
+    public boolean isDone() {
+        return finished && queue.isEmpty();
+    }
+
+    // Also ends a stream whose producer never started, e.g. one cancelled while still queued
+    public void close() {
+        closed = true;
+        finished = true;
+        queue.clear();
+    }
+
+    private boolean offer(TreeNodeRecord record, CancellationToken token) {
+        try {
+            while (!queue.offer(record, OFFER_POLL_MILLIS, TimeUnit.MILLISECONDS)) {
+                if (closed || token.isCancelled()) return false;
+            }
+            return true;
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return false;
+        }
+    }
+}
@@ -0,0 +1,79 @@
+package org.example.fibonaccivisualization.model;
+
+import jdk.jfr.EventType;
+import org.example.fibonaccivisualization.metrics.MetricsRegistry;
+
+import java.util.Locale;
+
+// Brackets one engine run: the bytes its thread allocates, and the JFR event and registry metrics describing it.
+// Started before the run and ended with its outcome. Allocation is only read when the caller asks for it or
+// something records it, and when nothing does, start hands back a shared probe that does no work at all.
+final class RunProbe {
+    private static final MetricsRegistry METRICS = MetricsRegistry.shared();
+    private static final EventType EVENT_TYPE = EventType.getEventType(ComputationEvent.class);
+    private static final RunProbe DISABLED = new RunProbe(null, false);
+
+    // Null unless JFR is recording computation events
+    private final ComputationEvent event;
+    private final long allocatedAtStart;
+    private long allocated = Long.MIN_VALUE;
+
+    private RunProbe(ComputationEvent event, boolean measureAllocation) {
+        this.event = event;
+        this.allocatedAtStart = measureAllocation ? AllocationMeter.currentThreadAllocatedBytes() : -1;
+    }
+
+    static RunProbe start(boolean measureAllocation) {
+        boolean recording = EVENT_TYPE.isEnabled();
+        boolean collecting = METRICS.isEnabled();
+        if (!recording && !collecting && !measureAllocation) return DISABLED;
+
+        ComputationEvent event = null;
+        if (recording) {
+            event = new ComputationEvent();
+            event.begin();
+        }
+        return new RunProbe(event, true);
+    }
+
+    // Read once, on the first call, so that later bookkeeping is not counted against the run
+    long allocatedBytes() {
+        if (allocated == Long.MIN_VALUE) {
+            allocated = allocatedAtStart < 0 ? -1 : AllocationMeter.currentThreadAllocatedBytes() - allocatedAtStart;
+        }
+        return allocated;
+    }
+
+    void end(FibRun run) {
+        if (this == DISABLED) return;
+        end(run.engine().name(), run.n(), run.elapsedNanos(), run.calls(), run.cacheHits());
+    }
+
+    void end(String engine, long n, long elapsedNanos, long calls, long cacheHits) {
+        if (this == DISABLED) return;
+        long allocated = allocatedBytes();
+        if (event != null) event.end();
+        boolean recording = event != null && event.shouldCommit();
+        boolean collecting = METRICS.isEnabled();
+        if (!recording && !collecting) return;
+
+        String name = engine.toLowerCase(Locale.ROOT).replace('_', '-');
+
+        if (recording) {
+            event.engine = name;
+            event.n = n;
+            event.calls = calls;
+            event.cacheHits = cacheHits;
+            event.allocatedBytes = allocated;
+            event.commit();
+        }
+        if (collecting) {
+            METRICS.timer("engine." + name + ".time").record(elapsedNanos);
+            METRICS.histogram("engine." + name + ".calls").record(calls);
+            METRICS.counter("engine." + name + ".cache-hits").add(cacheHits);
+            if (allocated >= 0) {
+                METRICS.histogram("engine." + name + ".allocated-bytes").record(allocated);
+            }
+        }
+    }
+}
@@ -0,0 +1,60 @@
+package org.example.fibonaccivisualization.model;
+
+public final class SeriesDownsampler {
+    private SeriesDownsampler() {
+    }
+
+    // Largest-Triangle-Three-Buckets (Steinarsson, 2013). Keeps the first and last points and, from each of the
+    // threshold - 2 buckets in between, the point that forms the largest triangle with the previously kept point
+    // and the average of the next bucket. Returns the indices of the kept points in ascending order.
+    public static int[] largestTriangleThreeBuckets(double[] xs, double[] ys, int threshold) {
+        int length = xs.length;
+        if (threshold >= length || threshold < 3) {
+            int[] all = new int[length];
+            for (int i = 0; i < length; i++) {
+                all[i] = i;
+            }
+            return all;
+        }
+
+        int[] kept = new int[threshold];
+        double bucketSize = (double) (length - 2) / (threshold - 2);
+        int previous = 0;
+        kept[0] = 0;
+
+        for (int bucket = 0; bucket < threshold - 2; bucket++) {
+            // Average of the following bucket stands in for the point that will be chosen there
+            int averageFrom = (int) Math.floor((bucket + 1) * bucketSize) + 1;
+            int averageTo = Math.min((int) Math.floor((bucket + 2) * bucketSize) + 1, length);
+            double averageX = 0;
+            double averageY = 0;
+            for (int i = averageFrom; i < averageTo; i++) {
+                averageX += xs[i];
+                averageY += ys[i];
+            }
+            int averageCount = Math.max(1, averageTo - averageFrom);
+            averageX /= averageCount;
+            averageY /= averageCount;
+
+            int from = (int) Math.floor(bucket * bucketSize) + 1;
+            int to = (int) Math.floor((bucket + 1) * bucketSize) + 1;
+            double largestArea = -1;
+            int chosen = from;
+            for (int i = from; i < to; i++) {
+                // Twice the triangle area; only the comparison matters
+                double area = Math.abs((xs[previous] - averageX) * (ys[i] - ys[previous])
+                        - (xs[previous] - xs[i]) * (averageY - ys[previous]));
+                if (area > largestArea) {
+                    largestArea = area;
+                    chosen = i;
+                }
+            }
+
+            kept[bucket + 1] = chosen;
+            previous = chosen;
+        }
+
+        kept[threshold - 1] = length - 1;
+        return kept;
+    }
+}
@@ -0,0 +1,73 @@
+package org.example.fibonaccivisualization.model;
+
+import java.time.Duration;
+import java.util.Arrays;
+import java.util.function.Supplier;
+
+public class TimingHarness {
+    private final int warmupIterations;
+    private final int measurementIterations;
+    private final long budgetNanos;
+
+    // Results are folded into this field so the JIT can't discard the measured work as dead code
+    private volatile int sink;
+
+    public TimingHarness(int warmupIterations, int measurementIterations, Duration budget) {
+        this.warmupIterations = warmupIterations;
+        this.measurementIterations = Math.max(1, measurementIterations);
+        this.budgetNanos = budget.toNanos();
+    }
+
+    public <T> Measured<T> measure(Supplier<T> task) {
+        long deadline = System.nanoTime() + budgetNanos;
+
+        // Warmup gets at most a quarter of the budget; these runs mostly pay for interpretation and JIT compilation
+        long warmupDeadline = System.nanoTime() + budgetNanos / 4;
+        int warmups = 0;
+        while (warmups < warmupIterations && System.nanoTime() < warmupDeadline) {
+            consume(task.get());
+            warmups++;
+        }
+
+        // Always take at least one sample, then keep going until the iteration count or the budget runs out
+        long[] samples = new long[measurementIterations];
+        int count = 0;
+        T last = null;
+        do {
+            long start = System.nanoTime();
+            last = task.get();
+            samples[count++] = System.nanoTime() - start;
+            consume(last);
+        } while (count < measurementIterations && System.nanoTime() < deadline);
+
+        return new Measured<>(last, summarize(warmups, Arrays.copyOf(samples, count)));
+    }
+
+    private TimingStats summarize(int warmups, long[] samples) {
+        Arrays.sort(samples);
+
+        double sum = 0;
+        for (long sample : samples) sum += sample;
+        double mean = sum / samples.length;
+
+        double squares = 0;
+        for (long sample : samples) squares += (sample - mean) * (sample - mean);
+        double stdDev = samples.length > 1 ? Math.sqrt(squares / (samples.length - 1)) : 0;
+
+        return new TimingStats(warmups, samples.length, mean, percentile(samples, 50), percentile(samples, 99),
+                stdDev, samples[0], samples[samples.length - 1]);
+    }
+
+    // Nearest-rank percentile of an already sorted array
+    private static long percentile(long[] sorted, int percentile) {
+        int rank = (int) Math.ceil(percentile / 100.0 * sorted.length);
+        return sorted[Math.max(0, rank - 1)];
+    }
+
+    private void consume(Object result) {
+        sink += System.identityHashCode(result);
+    }
+
+    public record Measured<T>(T lastResult, TimingStats stats) {
+    }
+}
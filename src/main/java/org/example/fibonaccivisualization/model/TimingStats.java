@@ -0,0 +1,5 @@
+package org.example.fibonaccivisualization.model;
+
+public record TimingStats(int warmupIterations, int samples, double meanNanos, long p50Nanos, long p99Nanos,
+                          double stdDevNanos, long minNanos, long maxNanos) {
+}
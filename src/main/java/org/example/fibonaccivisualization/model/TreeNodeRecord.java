@@ -0,0 +1,7 @@
+package org.example.fibonaccivisualization.model;
+
+// One call of the expanded recursion tree, in the order RecursionTreeStream emits them. Ids are assigned in
+// emission order, so a parent's id is always smaller than its children's. leafOffset is the number of leaves
+// to the left of this call's subtree, which is all a tidy layout needs to place it.
+public record TreeNodeRecord(int id, int parent, int value, long result, int depth, long leafOffset) {
+}
@@ -0,0 +1,384 @@
+package org.example.fibonaccivisualization.server;
+
+import com.sun.net.httpserver.Headers;
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpServer;
+import org.example.fibonaccivisualization.cli.EngineRunner;
+import org.example.fibonaccivisualization.cli.ResultWriter;
+import org.example.fibonaccivisualization.concurrent.ComputationHandle;
+import org.example.fibonaccivisualization.concurrent.ComputationScheduler;
+import org.example.fibonaccivisualization.metrics.MetricsRegistry;
+import org.example.fibonaccivisualization.model.BatchRun;
+import org.example.fibonaccivisualization.model.CancellationToken;
+import org.example.fibonaccivisualization.model.FibEngine;
+import org.example.fibonaccivisualization.model.FibRun;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+import java.net.InetAddress;
+import java.net.InetSocketAddress;
+import java.net.URI;
+import java.net.URLDecoder;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.HashMap;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeoutException;
+import java.util.function.Consumer;
+
+// Local query service over the calculator engines; like the CLI it never touches javafx. Launch from the class path:
+//   java -cp target/classes org.example.fibonaccivisualization.server.FibonacciServer --port 8080
+//
+//   GET  /fib?engine=fast-doubling&n=10,20,30&range=100..110&format=json
+//   POST /fib?engine=tabulated            body: n values separated by commas or whitespace, ranges as a..b
+//   GET  /fib?batch=true&range=0..10000  every n in one shared ascending pass; rows hold only n and value
+//   GET  /sum?range=0..100,50..60       sums F(a) + ... + F(b) per range
+//   GET  /metrics                       per-engine counters and timers; start with --metrics to collect them
+//   GET  /health
+//
+// Small, quick responses are sent whole with X-Queue-Nanos, X-Compute-Nanos, X-Queries-Per-Second and
+// X-Request-Nanos headers; large or slow ones are streamed as they are computed and carry only X-Result-Count
+// and X-Queue-Nanos, with each row's own nanos in the body. Batches and /sum compute everything before writing,
+// so they always report X-Compute-Nanos and X-Queries-Per-Second. Each request runs under a deadline and is cancelled
+// when it expires or the client disconnects; the recursive engines are capped at n = 40 and total result size
+// is bounded.
+public class FibonacciServer {
+    private static final int DEFAULT_PORT = 8080;
+
+    // Large accept backlog so thousands of concurrent localhost connections queue instead of being refused
+    private static final int BACKLOG = 4096;
+    private static final int MAX_QUERIES_PER_REQUEST = 10_000;
+    private static final int MAX_N = 20_000_000;
+    private static final int MAX_BODY_BYTES = 1 << 20;
+
+    // Exponential engines: F(40) is about 3 * 10^8 calls, already seconds of compute
+    private static final int MAX_EXPONENTIAL_N = 40;
+    // Sum of result bit lengths per request; F(n) has about n * log2(phi) bits
+    private static final long MAX_RESULT_BITS = 1L << 26;
+    private static final double LOG2_PHI = 0.6942419136306174;
+    private static final Duration REQUEST_DEADLINE = Duration.ofSeconds(30);
+    // Rows are flushed in groups, or sooner when they are slow; a failed flush is how a disconnect shows up
+    private static final int FLUSH_EVERY_ROWS = 64;
+    private static final Consumer<Headers> NO_LATE_HEADERS = headers -> {
+    };
+    private static final long FLUSH_INTERVAL_NANOS = 100_000_000;
+
+    private final HttpServer server;
+    private final ExecutorService executor;
+    private final EngineRunner runner;
+    // Engines run here rather than on the request threads, so a long computation never pins a carrier thread.
+    // One worker per core: the work is CPU-bound, and a request's deadline only starts once a worker takes it.
+    private final ComputationScheduler scheduler;
+
+    public FibonacciServer(int port) throws IOException {
+        this.runner = new EngineRunner();
+        this.scheduler = new ComputationScheduler(Runtime.getRuntime().availableProcessors());
+        this.executor = Executors.newVirtualThreadPerTaskExecutor();
+        this.server = HttpServer.create(new InetSocketAddress(InetAddress.getLoopbackAddress(), port), BACKLOG);
+        this.server.setExecutor(executor);
+        this.server.createContext("/fib", this::handleQuery);
+        this.server.createContext("/sum", this::handleSum);
+        this.server.createContext("/metrics", exchange -> send(exchange, 200, "text/plain",
+                MetricsRegistry.shared().dump()));
+        this.server.createContext("/health", exchange -> send(exchange, 200, "text/plain", "ok\n"));
+    }
+
+    public static void main(String[] args) throws IOException {
+        int port = DEFAULT_PORT;
+        for (int i = 0; i < args.length; i++) {
+            if (args[i].equals("--port") && i + 1 < args.length) {
+                port = Integer.parseInt(args[++i]);
+            } else if (args[i].equals("--metrics")) {
+                MetricsRegistry.shared().setEnabled(true);
+            }
+        }
+
+        FibonacciServer server = new FibonacciServer(port);
+        Runtime.getRuntime().addShutdownHook(new Thread(server::stop));
+        server.start();
+        System.err.println("Fibonacci query service listening on http://localhost:" + server.getPort() + "/fib");
+    }
+
+    public void start() {
+        server.start();
+    }
+
+    public int getPort() {
+        return server.getAddress().getPort();
+    }
+
+    public void stop() {
+        server.stop(0);
+        executor.shutdownNow();
+        scheduler.shutdown();
+        runner.shutdown();
+    }
+
+    private void handleQuery(HttpExchange exchange) throws IOException {
+        long requestStart = System.nanoTime();
+        try {
+            String method = exchange.getRequestMethod();
+            if (!method.equals("GET") && !method.equals("POST")) {
+                exchange.getResponseHeaders().set("Allow", "GET, POST");
+                sendError(exchange, 405, "Method not allowed");
+                return;
+            }
+
+            Map<String, String> params = parseQuery(exchange.getRequestURI());
+            FibEngine engine = EngineRunner.parseEngine(params.getOrDefault("engine", "fast-doubling"));
+            String format = params.getOrDefault("format", "json");
+            boolean batch = Boolean.parseBoolean(params.getOrDefault("batch", "false"));
+            if (batch && params.containsKey("engine")) {
+                throw new IllegalArgumentException("batch=true evaluates all n in one shared pass and takes no engine");
+            }
+
+            QueryList queries = new QueryList(MAX_QUERIES_PER_REQUEST);
+            if (params.containsKey("n")) queries.addAll(params.get("n"));
+            if (params.containsKey("range")) queries.addAll(params.get("range"));
+            if (method.equals("POST")) queries.addAll(readBody(exchange));
+            if (queries.size() == 0) {
+                throw new IllegalArgumentException("No n given; use ?n=, ?range= or a POST body");
+            }
+
+            boolean exponential = engine == FibEngine.RECURSIVE || engine == FibEngine.PARALLEL_RECURSIVE;
+            long resultBits = 0;
+            for (int i = 0; i < queries.size(); i++) {
+                int n = queries.get(i);
+                if (n > MAX_N) throw new IllegalArgumentException("n = " + n + " exceeds the limit of " + MAX_N);
+                if (exponential && n > MAX_EXPONENTIAL_N) {
+                    throw new IllegalArgumentException("Engine " + EngineRunner.engineName(engine)
+                            + " is limited to n <= " + MAX_EXPONENTIAL_N + " here; use a linear engine");
+                }
+                EngineRunner.checkSupported(engine, n);
+                resultBits += resultBits(n);
+            }
+            checkResultSize(resultBits);
+
+            StreamingResponse body = new StreamingResponse(exchange,
+                    format.equalsIgnoreCase("csv") ? "text/csv" : "application/json");
+            ResultWriter writer = batch ? ResultWriter.createForValues(format, body) : ResultWriter.create(format, body);
+            exchange.getResponseHeaders().set("X-Result-Count", String.valueOf(queries.size()));
+
+            if (batch) {
+                int[] ns = queries.toArray();
+                stream(exchange, body, requestStart, token -> {
+                    BatchRun run = runner.getCalculator().batch(ns, token);
+                    setTiming(exchange.getResponseHeaders(), run);
+                    writer.begin();
+                    for (int i = 0; i < ns.length; i++) {
+                        writer.write(ns[i], run.values()[i]);
+                        if ((i + 1) % FLUSH_EVERY_ROWS == 0) body.flush();
+                    }
+                    writer.end();
+                    return NO_LATE_HEADERS;
+                });
+                return;
+            }
+
+            stream(exchange, body, requestStart, token -> {
+                long computeNanos = 0;
+                long lastFlush = System.nanoTime();
+                writer.begin();
+                for (int i = 0; i < queries.size(); i++) {
+                    token.throwIfCancelled();
+                    FibRun run = runner.run(engine, queries.get(i), token);
+                    computeNanos += run.elapsedNanos();
+                    writer.write(run);
+                    long now = System.nanoTime();
+                    if ((i + 1) % FLUSH_EVERY_ROWS == 0 || now - lastFlush > FLUSH_INTERVAL_NANOS) {
+                        body.flush();
+                        lastFlush = now;
+                    }
+                }
+                writer.end();
+
+                long rows = queries.size();
+                long nanos = computeNanos;
+                return headers -> {
+                    headers.set("X-Compute-Nanos", String.valueOf(nanos));
+                    headers.set("X-Queries-Per-Second", formatRate(BatchRun.queriesPerSecond(rows, nanos)));
+                };
+            });
+        } catch (IllegalArgumentException e) {
+            sendError(exchange, 400, e.getMessage());
+        } catch (RuntimeException e) {
+            sendError(exchange, 500, e.toString());
+        }
+    }
+
+    // Sums F(a) + ... + F(b) for every range given, e.g. /sum?range=0..100,50..60
+    private void handleSum(HttpExchange exchange) throws IOException {
+        long requestStart = System.nanoTime();
+        try {
+            if (!exchange.getRequestMethod().equals("GET")) {
+                exchange.getResponseHeaders().set("Allow", "GET");
+                sendError(exchange, 405, "Method not allowed");
+                return;
+            }
+
+            String text = parseQuery(exchange.getRequestURI()).getOrDefault("range", "");
+            String[] tokens = text.isBlank() ? new String[0] : text.trim().split("[,\\s]+");
+            if (tokens.length == 0) throw new IllegalArgumentException("No range given; use ?range=a..b");
+            if (tokens.length > MAX_QUERIES_PER_REQUEST) {
+                throw new IllegalArgumentException("At most " + MAX_QUERIES_PER_REQUEST + " queries per request");
+            }
+
+            int[] from = new int[tokens.length];
+            int[] to = new int[tokens.length];
+            long resultBits = 0;
+            for (int i = 0; i < tokens.length; i++) {
+                int separator = tokens[i].indexOf("..");
+                if (separator < 0) throw new IllegalArgumentException("Invalid range '" + tokens[i] + "'. Expected a..b");
+                from[i] = QueryList.parse(tokens[i].substring(0, separator));
+                to[i] = QueryList.parse(tokens[i].substring(separator + 2));
+                if (from[i] > to[i]) {
+                    throw new IllegalArgumentException("Invalid range '" + tokens[i] + "': start is after end");
+                }
+                if (to[i] > MAX_N) throw new IllegalArgumentException("n = " + to[i] + " exceeds the limit of " + MAX_N);
+                // The sum is F(b + 2) - F(a + 1), and both terms are computed
+                resultBits += 2 * resultBits(to[i] + 2);
+            }
+            checkResultSize(resultBits);
+
+            StreamingResponse body = new StreamingResponse(exchange, "application/json");
+            exchange.getResponseHeaders().set("X-Result-Count", String.valueOf(tokens.length));
+
+            stream(exchange, body, requestStart, token -> {
+                BatchRun sums = runner.getCalculator().rangeSums(from, to, token);
+                setTiming(exchange.getResponseHeaders(), sums);
+                body.write("[\n");
+                for (int i = 0; i < tokens.length; i++) {
+                    if (i > 0) body.write(",\n");
+                    body.write("  {\"from\":" + from[i] + ",\"to\":" + to[i] + ",\"sum\":\"" + sums.values()[i] + "\"}");
+                    if ((i + 1) % FLUSH_EVERY_ROWS == 0) body.flush();
+                }
+                body.write("\n]\n");
+                body.flush();
+                return NO_LATE_HEADERS;
+            });
+        } catch (IllegalArgumentException e) {
+            sendError(exchange, 400, e.getMessage());
+        } catch (RuntimeException e) {
+            sendError(exchange, 500, e.toString());
+        }
+    }
+
+    // Runs the request body on the compute pool under the request deadline and waits for it on this thread. A
+    // failed write (the client went away) fails the task, and a timeout or failure cancels the engine's token.
+    // The task returns the timing headers it can report; they reach the client unless the body was streamed.
+    private void stream(HttpExchange exchange, StreamingResponse body, long requestStart, ResponseTask task)
+            throws IOException {
+        ComputationHandle<Consumer<Headers>> handle = scheduler.submit(token -> {
+            // Set before the first write, so a streamed response carries it too
+            exchange.getResponseHeaders().set("X-Queue-Nanos", String.valueOf(System.nanoTime() - requestStart));
+            try {
+                return task.run(token);
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+        }, REQUEST_DEADLINE);
+
+        Throwable failure;
+        try {
+            Consumer<Headers> timing = handle.result().get();
+            body.finish(headers -> {
+                timing.accept(headers);
+                headers.set("X-Request-Nanos", String.valueOf(System.nanoTime() - requestStart));
+            });
+            return;
+        } catch (InterruptedException e) {
+            handle.cancel();
+            Thread.currentThread().interrupt();
+            failure = e;
+        } catch (ExecutionException e) {
+            failure = e.getCause();
+        } catch (CancellationException e) {
+            failure = e;
+        }
+
+        // Once a streamed body has started the status cannot change; leave the chunked body unterminated so the client sees the
+        // response as broken rather than short, and let the server drop the connection
+        if (body.abort()) {
+            throw new IOException("Response failed after it started", failure);
+        }
+        if (failure instanceof TimeoutException) {
+            sendError(exchange, 504, failure.getMessage());
+        } else if (failure instanceof IllegalArgumentException) {
+            sendError(exchange, 400, failure.getMessage());
+        } else {
+            sendError(exchange, 500, failure.toString());
+        }
+    }
+
+    // Batches know their timing before the first row is written, so even a streamed response carries it
+    private static void setTiming(Headers headers, BatchRun run) {
+        headers.set("X-Distinct-Indices", String.valueOf(run.distinctIndices()));
+        headers.set("X-Compute-Nanos", String.valueOf(run.elapsedNanos()));
+        headers.set("X-Queries-Per-Second", formatRate(run.queriesPerSecond()));
+    }
+
+    private static String formatRate(double queriesPerSecond) {
+        return String.format(Locale.ROOT, "%.0f", queriesPerSecond);
+    }
+
+    private static long resultBits(int n) {
+        return (long) Math.ceil(n * LOG2_PHI);
+    }
+
+    private static void checkResultSize(long bits) {
+        if (bits > MAX_RESULT_BITS) {
+            throw new IllegalArgumentException("Results would take about " + bits + " bits, over the limit of "
+                    + MAX_RESULT_BITS + " per request; ask for fewer or smaller n");
+        }
+    }
+
+    private static String readBody(HttpExchange exchange) throws IOException {
+        try (InputStream in = exchange.getRequestBody()) {
+            byte[] bytes = in.readNBytes(MAX_BODY_BYTES + 1);
+            if (bytes.length > MAX_BODY_BYTES) {
+                throw new IllegalArgumentException("Request body exceeds " + MAX_BODY_BYTES + " bytes");
+            }
+            return new String(bytes, StandardCharsets.UTF_8);
+        }
+    }
+
+    private static Map<String, String> parseQuery(URI uri) {
+        Map<String, String> params = new HashMap<>();
+        String query = uri.getRawQuery();
+        if (query == null || query.isEmpty()) return params;
+
+        for (String pair : query.split("&")) {
+            int equals = pair.indexOf('=');
+            String key = URLDecoder.decode(equals < 0 ? pair : pair.substring(0, equals), StandardCharsets.UTF_8);
+            String value = equals < 0 ? "" : URLDecoder.decode(pair.substring(equals + 1), StandardCharsets.UTF_8);
+            // Repeated keys accumulate, so ?n=1&n=2 works like ?n=1,2
+            params.merge(key, value, (a, b) -> a + "," + b);
+        }
+        return params;
+    }
+
+    private static void sendError(HttpExchange exchange, int status, String message) throws IOException {
+        String escaped = message == null ? "" : message.replace("\\", "\\\\").replace("\"", "\\\"");
+        send(exchange, status, "application/json", "{\"error\":\"" + escaped + "\"}\n");
+    }
+
+    private static void send(HttpExchange exchange, int status, String contentType, String body) throws IOException {
+        byte[] bytes = body.getBytes(StandardCharsets.UTF_8);
+        exchange.getResponseHeaders().set("Content-Type", contentType + "; charset=utf-8");
+        exchange.sendResponseHeaders(status, bytes.length);
+        try (OutputStream out = exchange.getResponseBody()) {
+            out.write(bytes);
+        }
+    }
+
+    private interface ResponseTask {
+        Consumer<Headers> run(CancellationToken token) throws IOException;
+    }
+}
@@ -0,0 +1,68 @@
+package org.example.fibonaccivisualization.server;
+
+import java.util.Arrays;
+
+// Growable int list of requested indices, parsed from "1,2,3", "10..20" or whitespace-separated text
+class QueryList {
+    private final int limit;
+    private int[] values = new int[16];
+    private int size;
+
+    QueryList(int limit) {
+        this.limit = limit;
+    }
+
+    void addAll(String text) {
+        for (String token : text.split("[,\\s]+")) {
+            if (token.isEmpty()) continue;
+
+            int separator = token.indexOf("..");
+            if (separator < 0) {
+                add(parse(token));
+                continue;
+            }
+
+            int from = parse(token.substring(0, separator));
+            int to = parse(token.substring(separator + 2));
+            if (from > to) throw new IllegalArgumentException("Invalid range '" + token + "': start is after end");
+            if ((long) to - from + 1 > limit - size) throw tooMany();
+            for (int n = from; n <= to; n++) {
+                add(n);
+            }
+        }
+    }
+
+    int size() {
+        return size;
+    }
+
+    int get(int index) {
+        return values[index];
+    }
+
+    int[] toArray() {
+        return Arrays.copyOf(values, size);
+    }
+
+    private void add(int n) {
+        if (size == limit) throw tooMany();
+        if (size == values.length) {
+            values = Arrays.copyOf(values, Math.min(limit, size * 2));
+        }
+        values[size++] = n;
+    }
+
+    private IllegalArgumentException tooMany() {
+        return new IllegalArgumentException("At most " + limit + " queries per request");
+    }
+
+    static int parse(String text) {
+        try {
+            int n = Integer.parseInt(text.trim());
+            if (n < 0) throw new IllegalArgumentException("n must be a non-negative integer, got " + n);
+            return n;
+        } catch (NumberFormatException e) {
+            throw new IllegalArgumentException("Invalid n '" + text + "'");
+        }
+    }
+}
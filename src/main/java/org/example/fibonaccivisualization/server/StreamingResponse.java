@@ -0,0 +1,88 @@
+package org.example.fibonaccivisualization.server;
+
+import com.sun.net.httpserver.Headers;
+import com.sun.net.httpserver.HttpExchange;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.util.function.Consumer;
+
+// Response body written while results are still being computed. It is held back at first, so a small, quick
+// answer goes out with a Content-Length and the timing headers finish adds. A body that outgrows the buffer, or
+// is still being written after STREAM_AFTER_NANOS, switches to a chunked response and streams the rest; from
+// then on a failed flush is how a disconnect shows up, and only headers set before the switch are sent.
+// The compute thread writes and the handler thread finishes or aborts; both go through this object's lock.
+class StreamingResponse extends Writer {
+    private static final int BUFFER_LIMIT = 1 << 18;
+    private static final long STREAM_AFTER_NANOS = 2_000_000_000L;
+
+    private final HttpExchange exchange;
+    private final String contentType;
+    private final long createdAt = System.nanoTime();
+    private final StringBuilder buffered = new StringBuilder();
+    private Writer body;
+    private boolean aborted;
+
+    StreamingResponse(HttpExchange exchange, String contentType) {
+        this.exchange = exchange;
+        this.contentType = contentType;
+    }
+
+    @Override
+    public synchronized void write(char[] buffer, int offset, int length) throws IOException {
+        if (aborted) throw new IOException("Response aborted");
+        if (body != null) {
+            body.write(buffer, offset, length);
+            return;
+        }
+        buffered.append(buffer, offset, length);
+        if (buffered.length() > BUFFER_LIMIT) startStreaming();
+    }
+
+    @Override
+    public synchronized void flush() throws IOException {
+        if (aborted) throw new IOException("Response aborted");
+        if (body == null && System.nanoTime() - createdAt > STREAM_AFTER_NANOS) startStreaming();
+        if (body != null) body.flush();
+    }
+
+    // The exchange is closed by finish once the whole body has been written
+    @Override
+    public void close() {
+    }
+
+    // Sends the buffered body with the headers added by lateHeaders, or ends the chunked one
+    synchronized void finish(Consumer<Headers> lateHeaders) throws IOException {
+        if (body == null) {
+            byte[] bytes = buffered.toString().getBytes(StandardCharsets.UTF_8);
+            lateHeaders.accept(exchange.getResponseHeaders());
+            exchange.getResponseHeaders().set("Content-Type", contentType + "; charset=utf-8");
+            exchange.sendResponseHeaders(200, bytes.length);
+            try (OutputStream out = exchange.getResponseBody()) {
+                out.write(bytes);
+            }
+        } else {
+            body.flush();
+        }
+        exchange.close();
+    }
+
+    // Stops any further writes; returns whether the response had already started
+    synchronized boolean abort() {
+        aborted = true;
+        return body != null;
+    }
+
+    private void startStreaming() throws IOException {
+        exchange.getResponseHeaders().set("Content-Type", contentType + "; charset=utf-8");
+        exchange.sendResponseHeaders(200, 0);
+        body = new BufferedWriter(new OutputStreamWriter(exchange.getResponseBody(), StandardCharsets.UTF_8));
+        body.append(buffered);
+        buffered.setLength(0);
+        buffered.trimToSize();
+    }
+}
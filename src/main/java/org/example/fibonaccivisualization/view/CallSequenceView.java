@@ -0,0 +1,210 @@
+package org.example.fibonaccivisualization.view;
+
+import javafx.geometry.Insets;
+import javafx.geometry.Orientation;
+import javafx.geometry.Pos;
+import javafx.geometry.VPos;
+import javafx.scene.canvas.Canvas;
+import javafx.scene.canvas.GraphicsContext;
+import javafx.scene.control.Button;
+import javafx.scene.control.Label;
+import javafx.scene.control.ScrollBar;
+import javafx.scene.control.TextField;
+import javafx.scene.control.Tooltip;
+import javafx.scene.input.MouseEvent;
+import javafx.scene.input.ScrollEvent;
+import javafx.scene.layout.HBox;
+import javafx.scene.layout.Pane;
+import javafx.scene.layout.VBox;
+import javafx.scene.paint.Color;
+import javafx.scene.text.Font;
+import javafx.scene.text.FontWeight;
+import javafx.scene.text.TextAlignment;
+
+import org.example.fibonaccivisualization.model.CallTrace;
+
+// The call trace as one horizontal strip drawn on a Canvas. Only the cells in view are painted, so the cost
+// of a redraw depends on the strip width rather than the length of the trace. The scroll bar scrubs through
+// the sequence, dragging the strip pans it, and the jump field centers and highlights a given event.
+public class CallSequenceView extends VBox {
+    private static final double CELL_SIZE = 40;
+    private static final double CELL_GAP = 5;
+    private static final double PITCH = CELL_SIZE + CELL_GAP;
+    private static final double STRIP_HEIGHT = CELL_SIZE + 10;
+    private static final Color OUTLINE = Color.valueOf("#34495e");
+    private static final Color HIGHLIGHT = Color.valueOf("#e74c3c");
+    private static final Color RETURN_FILL = Color.valueOf("#d5dbdb");
+
+    private final Pane stripContainer = new Pane();
+    private final Canvas canvas = new Canvas();
+    private final ScrollBar scrollBar = new ScrollBar();
+    private final Label positionLabel = new Label();
+    private final TextField jumpField = new TextField();
+    private final Tooltip tooltip = new Tooltip();
+
+    private CallTrace trace = CallTrace.DISABLED;
+    private int highlighted = -1;
+    private int hovered = -1;
+    private double dragStartX;
+    private double dragStartValue;
+
+    public CallSequenceView() {
+        setSpacing(5);
+        setAlignment(Pos.CENTER);
+
+        // An explicit preferred width stops the canvas from feeding its own width back into the layout
+        stripContainer.setPrefSize(800, STRIP_HEIGHT);
+        stripContainer.setMinSize(0, STRIP_HEIGHT);
+        stripContainer.getChildren().add(canvas);
+        canvas.widthProperty().bind(stripContainer.widthProperty());
+        canvas.setHeight(STRIP_HEIGHT);
+        canvas.widthProperty().addListener(o -> updateRange());
+
+        scrollBar.setOrientation(Orientation.HORIZONTAL);
+        scrollBar.setUnitIncrement(1);
+        scrollBar.valueProperty().addListener(o -> redraw());
+
+        canvas.setOnMousePressed(e -> {
+            dragStartX = e.getX();
+            dragStartValue = scrollBar.getValue();
+        });
+        canvas.setOnMouseDragged(e -> setFirstVisible(dragStartValue - (e.getX() - dragStartX) / PITCH));
+        canvas.setOnScroll(this::handleScroll);
+        canvas.setOnMouseMoved(this::updateTooltip);
+        canvas.setOnMouseExited(e -> hideTooltip());
+
+        jumpField.setPromptText("Jump to event #");
+        jumpField.setPrefWidth(140);
+        jumpField.setOnAction(e -> jumpToInput());
+        Button jumpButton = new Button("Go");
+        jumpButton.setOnAction(e -> jumpToInput());
+
+        positionLabel.setFont(Font.font("Arial", 12));
+        HBox controls = new HBox(10, positionLabel, jumpField, jumpButton);
+        controls.setAlignment(Pos.CENTER);
+        controls.setPadding(new Insets(5, 0, 0, 0));
+
+        getChildren().addAll(stripContainer, scrollBar, controls);
+    }
+
+    public void setTrace(CallTrace callTrace) {
+        trace = callTrace;
+        highlighted = -1;
+        hideTooltip();
+        scrollBar.setValue(0);
+        updateRange();
+    }
+
+    // index counts retained events from 0; the UI numbers events by their position in the whole run, from 1
+    public void jumpTo(int index) {
+        if (trace.size() == 0) return;
+
+        highlighted = Math.max(0, Math.min(trace.size() - 1, index));
+        setFirstVisible(highlighted - visibleCells() / 2.0 + 0.5);
+        redraw();
+    }
+
+    private void jumpToInput() {
+        try {
+            long eventNumber = Long.parseLong(jumpField.getText().trim().replace(",", ""));
+            jumpTo((int) Math.max(-1, Math.min(Integer.MAX_VALUE, eventNumber - 1 - trace.getDroppedCount())));
+        } catch (NumberFormatException e) {
+            jumpField.selectAll();
+        }
+    }
+
+    private void handleScroll(ScrollEvent event) {
+        double delta = Math.abs(event.getDeltaX()) > Math.abs(event.getDeltaY()) ? event.getDeltaX() : event.getDeltaY();
+        setFirstVisible(scrollBar.getValue() - delta / PITCH);
+        event.consume();
+    }
+
+    private void setFirstVisible(double value) {
+        scrollBar.setValue(Math.max(scrollBar.getMin(), Math.min(scrollBar.getMax(), value)));
+    }
+
+    private double visibleCells() {
+        return canvas.getWidth() / PITCH;
+    }
+
+    private void updateRange() {
+        double visible = visibleCells();
+        scrollBar.setMax(Math.max(0, trace.size() - visible));
+        scrollBar.setVisibleAmount(Math.min(visible, Math.max(1, trace.size())));
+        scrollBar.setBlockIncrement(Math.max(1, Math.floor(visible)));
+        setFirstVisible(scrollBar.getValue());
+        redraw();
+    }
+
+    private void redraw() {
+        GraphicsContext gc = canvas.getGraphicsContext2D();
+        gc.clearRect(0, 0, canvas.getWidth(), canvas.getHeight());
+
+        double first = scrollBar.getValue();
+        int from = (int) Math.floor(first);
+        int to = (int) Math.min(trace.size() - 1L, (long) Math.ceil(first + visibleCells()));
+
+        gc.setTextAlign(TextAlignment.CENTER);
+        gc.setTextBaseline(VPos.CENTER);
+        gc.setFont(Font.font("Arial", FontWeight.BOLD, 12));
+
+        double top = (STRIP_HEIGHT - CELL_SIZE) / 2;
+        for (int i = from; i <= to; i++) {
+            int value = trace.argument(i);
+            CallTrace.EventType type = trace.type(i);
+            double x = (i - first) * PITCH + CELL_GAP / 2;
+
+            // Same colors as the memo table legend; returns are greyed out
+            gc.setFill(fillFor(type));
+            gc.fillRoundRect(x, top, CELL_SIZE, CELL_SIZE, 5, 5);
+            gc.setStroke(i == highlighted ? HIGHLIGHT : OUTLINE);
+            gc.setLineWidth(i == highlighted ? 3 : 1);
+            gc.strokeRoundRect(x, top, CELL_SIZE, CELL_SIZE, 5, 5);
+
+            gc.setFill(Color.BLACK);
+            gc.fillText((type == CallTrace.EventType.RETURN ? "\u21a9" : "") + "F(" + value + ")",
+                    x + CELL_SIZE / 2, top + CELL_SIZE / 2);
+        }
+
+        if (trace.size() == 0) {
+            positionLabel.setText("No events recorded");
+        } else {
+            String dropped = trace.getDroppedCount() == 0
+                    ? ""
+                    : String.format(" (oldest %,d dropped)", trace.getDroppedCount());
+            positionLabel.setText(String.format("Events %,d-%,d of %,d%s", trace.sequenceNumber(from) + 1,
+                    trace.sequenceNumber(to) + 1, trace.getRecordedCount(), dropped));
+        }
+    }
+
+    static Color fillFor(CallTrace.EventType type) {
+        return switch (type) {
+            case BASE -> Color.ORANGE;
+            case CALL -> Color.LIGHTGREEN;
+            case HIT -> Color.LIGHTBLUE;
+            case RETURN -> RETURN_FILL;
+        };
+    }
+
+    private void updateTooltip(MouseEvent event) {
+        long index = (long) Math.floor(scrollBar.getValue() + event.getX() / PITCH);
+        if (index < 0 || index >= trace.size()) {
+            hideTooltip();
+        } else if (index != hovered) {
+            hovered = (int) index;
+            String text = "Event #" + (trace.sequenceNumber(hovered) + 1) + ": " + trace.type(hovered)
+                    + " F(" + trace.argument(hovered) + ") at depth " + trace.depth(hovered);
+            if (trace.hasTimestamps()) {
+                // Time since the oldest retained event
+                text += String.format("%n+%,d ns", trace.nanos(hovered) - trace.nanos(0));
+            }
+            tooltip.setText(text);
+            tooltip.show(canvas, event.getScreenX() + 12, event.getScreenY() + 12);
+        }
+    }
+
+    private void hideTooltip() {
+        hovered = -1;
+        tooltip.hide();
+    }
+}
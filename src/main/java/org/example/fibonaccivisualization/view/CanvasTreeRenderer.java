@@ -0,0 +1,167 @@
+package org.example.fibonaccivisualization.view;
+
+import javafx.geometry.VPos;
+import javafx.scene.Node;
+import javafx.scene.canvas.Canvas;
+import javafx.scene.canvas.GraphicsContext;
+import javafx.scene.control.Tooltip;
+import javafx.scene.input.MouseEvent;
+import javafx.scene.paint.Color;
+import javafx.scene.text.Font;
+import javafx.scene.text.FontWeight;
+import javafx.scene.text.TextAlignment;
+
+import java.util.Arrays;
+
+// Immediate-mode backend: one viewport-sized Canvas, redrawn on every scroll or zoom. Tooltips come from a
+// hit test against the layout's grid instead of a Tooltip per node.
+class CanvasTreeRenderer implements TreeRenderer {
+    private static final Color EDGE_COLOR = Color.rgb(100, 100, 100);
+
+    private final Canvas canvas = new Canvas();
+    private final Tooltip tooltip = new Tooltip();
+    private Color[] fills = new Color[32];
+    private Color[] strokes = new Color[32];
+    private int[] visible = new int[256];
+    private int visibleCount;
+
+    private TreeLayout lastLayout;
+    private Viewport lastViewport;
+    private int hoveredNode = -1;
+
+    CanvasTreeRenderer() {
+        canvas.setOnMouseMoved(this::updateTooltip);
+        canvas.setOnMouseExited(e -> hideTooltip());
+    }
+
+    @Override
+    public String getName() {
+        return "Canvas";
+    }
+
+    @Override
+    public Node getNode() {
+        return canvas;
+    }
+
+    @Override
+    public int render(TreeLayout layout, Viewport viewport) {
+        lastLayout = layout;
+        lastViewport = viewport;
+        hideTooltip();
+
+        canvas.setLayoutX(viewport.left());
+        canvas.setLayoutY(viewport.top());
+        canvas.setWidth(viewport.width());
+        canvas.setHeight(viewport.height());
+
+        GraphicsContext gc = canvas.getGraphicsContext2D();
+        gc.clearRect(0, 0, canvas.getWidth(), canvas.getHeight());
+
+        double scale = viewport.scale();
+        double radius = NodeView.RADIUS * scale;
+        double offsetX = viewport.left();
+        double offsetY = viewport.top();
+
+        // Every edge goes into a single path so the dashes are stroked in one call
+        visibleCount = 0;
+        gc.beginPath();
+        double pad = NodeView.RADIUS;
+        layout.query(viewport.layoutX(viewport.left()) - pad, viewport.layoutY(viewport.top()) - pad,
+                viewport.layoutX(viewport.left() + viewport.width()) + pad,
+                viewport.layoutY(viewport.top() + viewport.height()) + pad,
+                this::addVisible,
+                child -> {
+                    int parent = layout.parent(child);
+                    gc.moveTo(viewport.screenX(layout.x(parent)) - offsetX, viewport.screenY(layout.y(parent)) + radius - offsetY);
+                    gc.lineTo(viewport.screenX(layout.x(child)) - offsetX, viewport.screenY(layout.y(child)) - radius - offsetY);
+                });
+        gc.setStroke(EDGE_COLOR);
+        gc.setLineWidth(1.2);
+        gc.setLineDashes(4, 4);
+        gc.stroke();
+        gc.setLineDashes(null);
+
+        gc.setLineWidth(2 * scale);
+        for (int i = 0; i < visibleCount; i++) {
+            int index = visible[i];
+            int value = layout.value(index);
+            double x = viewport.screenX(layout.x(index)) - offsetX;
+            double y = viewport.screenY(layout.y(index)) - offsetY;
+            gc.setFill(fill(value));
+            gc.fillOval(x - radius, y - radius, 2 * radius, 2 * radius);
+            gc.setStroke(strokes[value]);
+            gc.strokeOval(x - radius, y - radius, 2 * radius, 2 * radius);
+        }
+
+        if (scale >= DETAIL_SCALE) {
+            // Same two lines as NodeView: "F(n)" over "= result"
+            gc.setFill(Color.WHITE);
+            gc.setTextAlign(TextAlignment.CENTER);
+            gc.setTextBaseline(VPos.CENTER);
+            Font mainFont = Font.font("Arial", FontWeight.BOLD, 12 * scale);
+            Font resultFont = Font.font("Arial", FontWeight.BOLD, 10 * scale);
+
+            gc.setFont(mainFont);
+            for (int i = 0; i < visibleCount; i++) {
+                int index = visible[i];
+                gc.fillText("F(" + layout.value(index) + ")", viewport.screenX(layout.x(index)) - offsetX,
+                        viewport.screenY(layout.y(index)) - 7 * scale - offsetY);
+            }
+            gc.setFont(resultFont);
+            for (int i = 0; i < visibleCount; i++) {
+                int index = visible[i];
+                gc.fillText("= " + layout.result(index), viewport.screenX(layout.x(index)) - offsetX,
+                        viewport.screenY(layout.y(index)) + 7 * scale - offsetY);
+            }
+        }
+
+        return visibleCount;
+    }
+
+    @Override
+    public void clear() {
+        lastLayout = null;
+        hideTooltip();
+        canvas.getGraphicsContext2D().clearRect(0, 0, canvas.getWidth(), canvas.getHeight());
+    }
+
+    private void addVisible(int index) {
+        if (visibleCount == visible.length) {
+            visible = Arrays.copyOf(visible, visibleCount * 2);
+        }
+        visible[visibleCount++] = index;
+    }
+
+    private Color fill(int value) {
+        if (value >= fills.length) {
+            fills = Arrays.copyOf(fills, value + 1);
+            strokes = Arrays.copyOf(strokes, value + 1);
+        }
+        if (fills[value] == null) {
+            fills[value] = NodeView.colorFor(value);
+            strokes[value] = fills[value].darker();
+        }
+        return fills[value];
+    }
+
+    private void updateTooltip(MouseEvent event) {
+        if (lastLayout == null) return;
+
+        double x = lastViewport.layoutX(event.getX() + lastViewport.left());
+        double y = lastViewport.layoutY(event.getY() + lastViewport.top());
+        int node = lastLayout.nodeAt(x, y, NodeView.RADIUS);
+        if (node < 0) {
+            hideTooltip();
+        } else if (node != hoveredNode) {
+            hoveredNode = node;
+            tooltip.setText("Calculating Fibonacci(" + lastLayout.value(node) + ")");
+            tooltip.show(canvas, event.getScreenX() + 12, event.getScreenY() + 12);
+        }
+    }
+
+    private void hideTooltip() {
+        hoveredNode = -1;
+        tooltip.hide();
+    }
+}
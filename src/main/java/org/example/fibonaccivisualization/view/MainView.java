@@ -1,5 +1,6 @@
 package org.example.fibonaccivisualization.view;
 
+import org.example.fibonaccivisualization.controller.ChartMode;
 import org.example.fibonaccivisualization.controller.FibonacciController;
 import javafx.geometry.Insets;
 import javafx.geometry.Orientation;
@@ -13,6 +14,7 @@ import javafx.scene.paint.Color;
 public class MainView {
     private final BorderPane root;
     private final TextField inputField;
+    private final TextField modulusField;
     private final TextArea resultArea;
     private final LineChart<Number, Number> chart;
     private final TreePane treePane;
@@ -29,10 +31,18 @@ public class MainView {
         inputField.setMinHeight(40);
         inputField.setId("inputField");
 
+        // Optional modulus m: required by the modular engine, and adds an F(n) mod m row to the comparison
+        modulusField = new TextField();
+        modulusField.setPromptText("Modulus (m)");
+        modulusField.setMaxWidth(220);
+        modulusField.setMinWidth(120);
+        modulusField.setMinHeight(40);
+        modulusField.setId("modulusField");
+
         Label titleLabel = new Label("Fibonacci Calculator & Algorithm Visualizer");
         titleLabel.setStyle("-fx-font-size: 24px; -fx-font-weight: bold; -fx-text-fill: #2c3e50;");
 
-        HBox headerBox = new HBox(20, titleLabel, inputField);
+        HBox headerBox = new HBox(20, titleLabel, inputField, modulusField);
         headerBox.setAlignment(Pos.CENTER);
         headerBox.setPadding(new Insets(15));
         headerBox.setStyle("-fx-background-color: #3498db; -fx-border-radius: 5; -fx-background-radius: 5;");
@@ -41,9 +51,14 @@ public class MainView {
         Button recursiveBtn = createStyledButton("Recursive Tree", "#e74c3c");
         Button memoBtn = createStyledButton("Memoization", "#2ecc71");
         Button tabBtn = createStyledButton("Tabulation", "#9b59b6");
+        Button fastDoublingBtn = createStyledButton("Fast Doubling", "#1abc9c");
+        Button modularBtn = createStyledButton("F(n) mod m", "#2980b9");
         Button compareBtn = createStyledButton("Compare All", "#f39c12");
+        Button metricsBtn = createStyledButton("Metrics", "#34495e");
+        Button cancelBtn = createStyledButton("Cancel", "#7f8c8d");
 
-        HBox buttons = new HBox(15, recursiveBtn, memoBtn, tabBtn, compareBtn);
+        HBox buttons = new HBox(15, recursiveBtn, memoBtn, tabBtn, fastDoublingBtn, modularBtn, compareBtn,
+                metricsBtn, cancelBtn);
         buttons.setAlignment(Pos.CENTER);
         buttons.setPadding(new Insets(15));
 
@@ -59,10 +74,12 @@ public class MainView {
         NumberAxis xAxis = new NumberAxis();
         NumberAxis yAxis = new NumberAxis();
         xAxis.setLabel("n");
-        yAxis.setLabel("F(n)");
+        // F(n) grows exponentially, so the chart plots log10 F(n); the growth line is then straight
+        yAxis.setLabel("log10 F(n)");
         chart = new LineChart<>(xAxis, yAxis);
-        chart.setTitle("Fibonacci Sequence Growth");
-        chart.setAnimated(true);
+        chart.setTitle("Fibonacci Sequence Growth (log scale)");
+        // Series are replaced in bulk with up to a pixel's worth of points; animating that is slow
+        chart.setAnimated(false);
         chart.setCreateSymbols(true);
         chart.setLegendVisible(true);
         chart.setStyle("-fx-font-size: 14px;");
@@ -79,7 +96,16 @@ public class MainView {
         zoomOutBtn.setOnAction(e -> treePane.zoomOut());
         resetZoomBtn.setOnAction(e -> treePane.resetZoom());
 
-        HBox zoomControls = new HBox(5, zoomInBtn, zoomOutBtn, resetZoomBtn);
+        // Switch between the node-per-view and the single-canvas renderer to compare their frame times
+        ToggleButton canvasToggle = new ToggleButton("Canvas");
+        canvasToggle.setMinHeight(30);
+        canvasToggle.selectedProperty().addListener((obs, wasSelected, selected) -> treePane.setCanvasRendering(selected));
+
+        Label frameTimeLabel = new Label();
+        frameTimeLabel.textProperty().bind(treePane.frameStatsProperty());
+        frameTimeLabel.setStyle("-fx-text-fill: #7f8c8d;");
+
+        HBox zoomControls = new HBox(5, frameTimeLabel, canvasToggle, zoomInBtn, zoomOutBtn, resetZoomBtn);
         zoomControls.setAlignment(Pos.CENTER_RIGHT);
         zoomControls.setPadding(new Insets(5));
 
@@ -89,6 +115,7 @@ public class MainView {
         treeScrollPane.setFitToHeight(false);
         treeScrollPane.setHbarPolicy(ScrollPane.ScrollBarPolicy.AS_NEEDED);
         treeScrollPane.setVbarPolicy(ScrollPane.ScrollBarPolicy.AS_NEEDED);
+        treePane.attachViewport(treeScrollPane);
 
 
 // Create VBox for tree tab with zoom controls and scroll pane
@@ -108,12 +135,24 @@ public class MainView {
         tabScrollPane.setFitToWidth(true);
         tabScrollPane.setFitToHeight(true);
 
+        // Chart controls: what to plot, and a sweep that measures each engine's cost across n
+        ComboBox<ChartMode> chartModeBox = new ComboBox<>();
+        chartModeBox.getItems().addAll(ChartMode.values());
+        chartModeBox.setValue(ChartMode.GROWTH);
+        Button sweepBtn = createZoomButton("Run sweep");
+        HBox chartControls = new HBox(5, new Label("Plot:"), chartModeBox, sweepBtn);
+        chartControls.setAlignment(Pos.CENTER_RIGHT);
+        chartControls.setPadding(new Insets(5));
+
+        BorderPane chartContainer = new BorderPane(chart);
+        chartContainer.setTop(chartControls);
+
         // Create tabs
         visualizationTabPane = new TabPane();
         Tab treeTab = new Tab("Recursive Tree", treeContainer);
         Tab memoTab = new Tab("Memoization", memoScrollPane);
         Tab tabulationTab = new Tab("Tabulation", tabScrollPane);
-        Tab chartTab = new Tab("Growth Chart", chart);
+        Tab chartTab = new Tab("Growth Chart", chartContainer);
 
         visualizationTabPane.getTabs().addAll(treeTab, memoTab, tabulationTab, chartTab);
         visualizationTabPane.setTabClosingPolicy(TabPane.TabClosingPolicy.UNAVAILABLE);
@@ -133,12 +172,24 @@ public class MainView {
 
         // Create controller and wire up events
         FibonacciController controller = new FibonacciController(
-                inputField, resultArea, chart, treePane, memoPane, tabPane, visualizationTabPane);
+                inputField, modulusField, resultArea, chart, treePane, memoPane, tabPane, visualizationTabPane);
 
         recursiveBtn.setOnAction(controller::handleRecursiveAction);
         memoBtn.setOnAction(controller::handleMemoAction);
         tabBtn.setOnAction(controller::handleTabulationAction);
+        fastDoublingBtn.setOnAction(controller::handleFastDoublingAction);
+        modularBtn.setOnAction(controller::handleModularAction);
         compareBtn.setOnAction(controller::handleCompareAction);
+        metricsBtn.setOnAction(controller::handleMetricsAction);
+        cancelBtn.setOnAction(controller::handleCancelAction);
+        chartModeBox.setOnAction(e -> controller.setChartMode(chartModeBox.getValue()));
+        sweepBtn.setOnAction(e -> {
+            // A sweep has nothing to show on the F(n) chart, so switch to its timings
+            if (chartModeBox.getValue() == ChartMode.GROWTH) {
+                chartModeBox.setValue(ChartMode.TIME);
+            }
+            controller.handleSweepAction(e);
+        });
     }
 
     private Button createStyledButton(String text, String color) {
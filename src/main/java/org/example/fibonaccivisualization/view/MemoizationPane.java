@@ -10,12 +10,14 @@ import javafx.scene.shape.Rectangle;
 import javafx.scene.text.Font;
 import javafx.scene.text.FontWeight;
 
-import java.util.List;
-import java.util.Map;
+import org.example.fibonaccivisualization.model.CallTrace;
+import org.example.fibonaccivisualization.model.MemoTable;
 
 public class MemoizationPane extends VBox {
     private static final int CELL_SIZE = 60;
-    private static final int SEQUENCE_CELL_SIZE = 40;
+
+    // Created once and reused; it only ever draws the calls currently in view
+    private final CallSequenceView sequenceView = new CallSequenceView();
 
     public MemoizationPane() {
         setSpacing(20);
@@ -24,7 +26,7 @@ public class MemoizationPane extends VBox {
         setStyle("-fx-background-color: #ecf0f1;");
     }
 
-    public void visualizeMemoization(Map<Integer, Long> memoTable, List<Integer> callOrder, Map<Integer, Integer> callCounts) {
+    public void visualizeMemoization(MemoTable memoTable, CallTrace trace) {
         getChildren().clear();
 
         // Title
@@ -37,11 +39,12 @@ public class MemoizationPane extends VBox {
         HBox tableContainer = new HBox(5);
         tableContainer.setAlignment(Pos.CENTER);
 
-        // Sort keys for ordered display
-        memoTable.keySet().stream().sorted().forEach(key -> {
-            VBox cell = createMemoCell(key, memoTable.get(key), callCounts.getOrDefault(key, 0));
+        // The table is indexed by n, so walking it in order is already sorted
+        for (int key = 0; key < memoTable.size(); key++) {
+            if (!memoTable.isFilled(key)) continue;
+            VBox cell = createMemoCell(key, memoTable.get(key), memoTable.getCallCount(key));
             tableContainer.getChildren().add(cell);
-        });
+        }
 
         getChildren().add(tableContainer);
 
@@ -51,17 +54,8 @@ public class MemoizationPane extends VBox {
         sequenceLabel.setTextFill(Color.valueOf("#2c3e50"));
         getChildren().add(sequenceLabel);
 
-        FlowPane sequenceFlow = new FlowPane(5, 5);
-        sequenceFlow.setAlignment(Pos.CENTER);
-        sequenceFlow.setPrefWrapLength(800); // Adjust based on your layout
-
-        for (int i = 0; i < callOrder.size(); i++) {
-            Integer value = callOrder.get(i);
-            StackPane seqCell = createSequenceCell(value, i);
-            sequenceFlow.getChildren().add(seqCell);
-        }
-
-        getChildren().add(sequenceFlow);
+        sequenceView.setTrace(trace);
+        getChildren().add(sequenceView);
 
         // Legend
         HBox legend = new HBox(20);
@@ -70,13 +64,14 @@ public class MemoizationPane extends VBox {
         legend.getChildren().addAll(
                 createLegendItem("Base case", Color.ORANGE),
                 createLegendItem("Calculated", Color.LIGHTGREEN),
-                createLegendItem("Cache hit", Color.LIGHTBLUE)
+                createLegendItem("Cache hit", Color.LIGHTBLUE),
+                createLegendItem("Return", CallSequenceView.fillFor(CallTrace.EventType.RETURN))
         );
 
         getChildren().add(legend);
     }
 
-    private VBox createMemoCell(int key, Long value, int callCount) {
+    private VBox createMemoCell(int key, long value, int callCount) {
         Rectangle rect = new Rectangle(CELL_SIZE, CELL_SIZE);
 
         // Color based on value
@@ -101,7 +96,7 @@ public class MemoizationPane extends VBox {
         Label keyLabel = new Label("F(" + key + ")");
         keyLabel.setFont(Font.font("Arial", FontWeight.BOLD, 14));
 
-        Label valueLabel = new Label(value.toString());
+        Label valueLabel = new Label(String.valueOf(value));
         valueLabel.setFont(Font.font("Arial", 12));
 
         Label callCountLabel = new Label("Calls: " + callCount);
@@ -122,39 +117,6 @@ public class MemoizationPane extends VBox {
         return container;
     }
 
-    private StackPane createSequenceCell(int value, int index) {
-        Rectangle rect = new Rectangle(SEQUENCE_CELL_SIZE, SEQUENCE_CELL_SIZE);
-
-        // Color based on value
-        Color fillColor;
-        if (value <= 1) {
-            // Base cases
-            fillColor = Color.ORANGE;
-        } else {
-            // Regular calls
-            fillColor = Color.LIGHTGREEN;
-        }
-
-        rect.setFill(fillColor);
-        rect.setStroke(Color.valueOf("#34495e"));
-        rect.setStrokeWidth(1);
-        rect.setArcHeight(5);
-        rect.setArcWidth(5);
-
-        Label valueLabel = new Label("F(" + value + ")");
-        valueLabel.setFont(Font.font("Arial", FontWeight.BOLD, 12));
-
-        VBox cellContent = new VBox(valueLabel);
-        cellContent.setAlignment(Pos.CENTER);
-
-        StackPane cell = new StackPane(rect, cellContent);
-
-        Tooltip tooltip = new Tooltip("Call #" + (index + 1) + ": F(" + value + ")");
-        Tooltip.install(cell, tooltip);
-
-        return cell;
-    }
-
     private HBox createLegendItem(String text, Color color) {
         Rectangle rect = new Rectangle(20, 20);
         rect.setFill(color);
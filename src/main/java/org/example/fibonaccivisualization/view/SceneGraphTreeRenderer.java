@@ -0,0 +1,120 @@
+package org.example.fibonaccivisualization.view;
+
+import javafx.scene.Group;
+import javafx.scene.Node;
+import javafx.scene.paint.Color;
+import javafx.scene.shape.Line;
+
+import java.util.ArrayList;
+import java.util.List;
+
+// Draws each visible tree node as a pooled NodeView and each edge as a pooled dashed Line
+class SceneGraphTreeRenderer implements TreeRenderer {
+    // Upper bound on live NodeViews when zoomed far out over a very wide tree
+    private static final int MAX_MATERIALIZED_NODES = 4_000;
+
+    private final Group root = new Group();
+    private final Group edgeLayer = new Group();
+    private final Group nodeLayer = new Group();
+    private final List<NodeView> nodePool = new ArrayList<>();
+    private final List<Line> edgePool = new ArrayList<>();
+    private int nodesInUse;
+    private int edgesInUse;
+
+    SceneGraphTreeRenderer() {
+        root.getChildren().addAll(edgeLayer, nodeLayer);
+    }
+
+    @Override
+    public String getName() {
+        return "Scene graph";
+    }
+
+    @Override
+    public Node getNode() {
+        return root;
+    }
+
+    @Override
+    public int render(TreeLayout layout, Viewport viewport) {
+        nodesInUse = 0;
+        edgesInUse = 0;
+
+        // Pad by a node radius so nodes cut by the viewport edge are still drawn
+        double pad = NodeView.RADIUS;
+        layout.query(viewport.layoutX(viewport.left()) - pad, viewport.layoutY(viewport.top()) - pad,
+                viewport.layoutX(viewport.left() + viewport.width()) + pad,
+                viewport.layoutY(viewport.top() + viewport.height()) + pad,
+                index -> showNode(layout, viewport, index),
+                child -> showEdge(layout, viewport, child));
+
+        hideUnused();
+        return nodesInUse;
+    }
+
+    @Override
+    public void clear() {
+        nodesInUse = 0;
+        edgesInUse = 0;
+        hideUnused();
+    }
+
+    private void showNode(TreeLayout layout, Viewport viewport, int index) {
+        if (nodesInUse == MAX_MATERIALIZED_NODES) return;
+
+        NodeView view;
+        if (nodesInUse == nodePool.size()) {
+            view = new NodeView();
+            nodePool.add(view);
+            nodeLayer.getChildren().add(view);
+        } else {
+            view = nodePool.get(nodesInUse);
+        }
+        nodesInUse++;
+
+        view.bind(layout.value(index), layout.result(index));
+        view.setDetailVisible(viewport.scale() >= DETAIL_SCALE);
+        view.setScaleX(viewport.scale());
+        view.setScaleY(viewport.scale());
+        view.setLayoutX(viewport.screenX(layout.x(index)) - NodeView.RADIUS);
+        view.setLayoutY(viewport.screenY(layout.y(index)) - NodeView.RADIUS);
+        view.setVisible(true);
+    }
+
+    private void showEdge(TreeLayout layout, Viewport viewport, int child) {
+        Line line;
+        if (edgesInUse == edgePool.size()) {
+            line = createConnectingLine();
+            edgePool.add(line);
+            edgeLayer.getChildren().add(line);
+        } else {
+            line = edgePool.get(edgesInUse);
+        }
+        edgesInUse++;
+
+        int parent = layout.parent(child);
+        double radius = NodeView.RADIUS * viewport.scale();
+        line.setStartX(viewport.screenX(layout.x(parent)));
+        line.setStartY(viewport.screenY(layout.y(parent)) + radius);
+        line.setEndX(viewport.screenX(layout.x(child)));
+        line.setEndY(viewport.screenY(layout.y(child)) - radius);
+        line.setVisible(true);
+    }
+
+    private void hideUnused() {
+        for (int i = nodesInUse; i < nodePool.size(); i++) {
+            nodePool.get(i).setVisible(false);
+        }
+        for (int i = edgesInUse; i < edgePool.size(); i++) {
+            edgePool.get(i).setVisible(false);
+        }
+    }
+
+    private Line createConnectingLine() {
+        Line line = new Line();
+        line.setStroke(Color.rgb(100, 100, 100));
+        line.setStrokeWidth(1.2);
+        line.getStrokeDashArray().addAll(4d, 4d);
+        return line;
+    }
+}
@@ -13,7 +13,7 @@ import javafx.scene.text.Font;
 import javafx.scene.text.FontWeight;
 import javafx.util.Duration;
 
-import java.util.List;
+import java.util.PrimitiveIterator;
 
 public class TabulationPane extends VBox {
     private static final int CELL_SIZE = 60;
@@ -25,7 +25,7 @@ public class TabulationPane extends VBox {
         setStyle("-fx-background-color: #ecf0f1;");
     }
 
-    public void visualizeTabulation(List<Long> dpTable) {
+    public void visualizeTabulation(PrimitiveIterator.OfLong values) {
         getChildren().clear();
 
         // Title
@@ -47,8 +47,10 @@ public class TabulationPane extends VBox {
 
         ParallelTransition allTransitions = new ParallelTransition();
 
-        for (int i = 0; i < dpTable.size(); i++) {
-            StackPane cell = createDpCell(i, dpTable.get(i));
+        int size = 0;
+        for (int i = 0; values.hasNext(); i++) {
+            StackPane cell = createDpCell(i, values.nextLong());
+            size++;
 
             // Animation for appearing
             FadeTransition fadeIn = new FadeTransition(Duration.millis(200), cell);
@@ -63,7 +65,7 @@ public class TabulationPane extends VBox {
         getChildren().add(tableContainer);
 
         // Add dependency arrows for larger tables
-        if (dpTable.size() > 5) {
+        if (size > 5) {
             HBox dependencyContainer = new HBox(10);
             dependencyContainer.setAlignment(Pos.CENTER);
             dependencyContainer.setPadding(new Insets(20, 0, 0, 0));
@@ -85,7 +87,7 @@ public class TabulationPane extends VBox {
         timeComplexityLabel.setFont(Font.font("Arial", 14));
         timeComplexityLabel.setTextFill(Color.valueOf("#2c3e50"));
 
-        Label spaceComplexityLabel = new Label("Space Complexity: O(n)");
+        Label spaceComplexityLabel = new Label("Space Complexity: O(1) rolling, O(n) to keep the table");
         spaceComplexityLabel.setFont(Font.font("Arial", 14));
         spaceComplexityLabel.setTextFill(Color.valueOf("#2c3e50"));
 
@@ -96,7 +98,7 @@ public class TabulationPane extends VBox {
         allTransitions.play();
     }
 
-    private StackPane createDpCell(int index, Long value) {
+    private StackPane createDpCell(int index, long value) {
         Rectangle rect = new Rectangle(CELL_SIZE, CELL_SIZE);
 
         // Color based on index
@@ -123,7 +125,7 @@ public class TabulationPane extends VBox {
         indexLabel.setFont(Font.font("Arial", FontWeight.BOLD, 14));
         indexLabel.setTextFill(Color.WHITE);
 
-        Label valueLabel = new Label(value.toString());
+        Label valueLabel = new Label(String.valueOf(value));
         valueLabel.setFont(Font.font("Arial", 12));
         valueLabel.setTextFill(Color.WHITE);
 
@@ -0,0 +1,204 @@
+package org.example.fibonaccivisualization.view;
+
+import org.example.fibonaccivisualization.model.TreeNodeRecord;
+
+import java.util.Arrays;
+import java.util.function.IntConsumer;
+
+// Layout of the expanded recursion tree kept in flat arrays, plus a uniform grid so the renderer can ask
+// "what is inside this rectangle" without touching every node. Holds no JavaFX objects.
+class TreeLayout {
+    static final double LEAF_SPACING = 60;
+    static final double LEVEL_GAP = 70;
+    static final double MARGIN = 50;
+    private static final double CELL_SIZE = 256;
+
+    private final double width;
+    private final double height;
+    private final int columns;
+    private final int rows;
+
+    private int count;
+    private int[] values = new int[64];
+    private long[] results = new long[64];
+    private int[] parents = new int[64];
+    private double[] xs = new double[64];
+    private double[] ys = new double[64];
+
+    // Grid cells hold node indices; edges are indexed separately by child index because they can span many cells
+    private final int[][] nodeCells;
+    private final int[] nodeCellSizes;
+    private final int[][] edgeCells;
+    private final int[] edgeCellSizes;
+
+    // Per-query stamps so an edge found in several cells is reported once
+    private int[] edgeStamps = new int[64];
+    private int queryStamp;
+
+    TreeLayout(int n) {
+        // Leaves of the F(k) subtree: L(0) = L(1) = 1, L(k) = L(k-1) + L(k-2), i.e. F(k+1)
+        width = leafCount(n) * LEAF_SPACING + 2 * MARGIN;
+        height = n * LEVEL_GAP + 2 * MARGIN;
+        columns = (int) Math.ceil(width / CELL_SIZE);
+        rows = (int) Math.ceil(height / CELL_SIZE);
+        nodeCells = new int[columns * rows][];
+        nodeCellSizes = new int[columns * rows];
+        edgeCells = new int[columns * rows][];
+        edgeCellSizes = new int[columns * rows];
+    }
+
+    static long leafCount(int k) {
+        long previous = 1;
+        long current = 1;
+        for (int i = 2; i <= k; i++) {
+            long next = previous + current;
+            previous = current;
+            current = next;
+        }
+        return current;
+    }
+
+    // Records must arrive in id order so that layout indices and record ids coincide
+    int add(TreeNodeRecord record) {
+        return add(record.value(), record.result(), record.depth(), record.leafOffset(), record.parent());
+    }
+
+    private int add(int value, long result, int depth, long leafStart, int parent) {
+        if (count == values.length) grow();
+
+        int index = count++;
+        values[index] = value;
+        results[index] = result;
+        parents[index] = parent;
+        xs[index] = MARGIN + (leafStart + (leafCount(value) - 1) / 2.0) * LEAF_SPACING + LEAF_SPACING / 2;
+        ys[index] = MARGIN + depth * LEVEL_GAP;
+
+        insert(nodeCells, nodeCellSizes, cellIndex(column(xs[index]), row(ys[index])), index);
+        if (parent >= 0) {
+            // Register the edge in every cell its bounding box touches
+            int fromColumn = column(Math.min(xs[index], xs[parent]));
+            int toColumn = column(Math.max(xs[index], xs[parent]));
+            int fromRow = row(ys[parent]);
+            int toRow = row(ys[index]);
+            for (int r = fromRow; r <= toRow; r++) {
+                for (int c = fromColumn; c <= toColumn; c++) {
+                    insert(edgeCells, edgeCellSizes, cellIndex(c, r), index);
+                }
+            }
+        }
+        return index;
+    }
+
+    void query(double minX, double minY, double maxX, double maxY, IntConsumer nodes, IntConsumer edges) {
+        int fromColumn = column(minX);
+        int toColumn = column(maxX);
+        int fromRow = row(minY);
+        int toRow = row(maxY);
+        queryStamp++;
+
+        for (int r = fromRow; r <= toRow; r++) {
+            for (int c = fromColumn; c <= toColumn; c++) {
+                int cell = cellIndex(c, r);
+                for (int i = 0; i < nodeCellSizes[cell]; i++) {
+                    int node = nodeCells[cell][i];
+                    if (xs[node] >= minX && xs[node] <= maxX && ys[node] >= minY && ys[node] <= maxY) {
+                        nodes.accept(node);
+                    }
+                }
+                for (int i = 0; i < edgeCellSizes[cell]; i++) {
+                    int child = edgeCells[cell][i];
+                    if (edgeStamps[child] != queryStamp) {
+                        edgeStamps[child] = queryStamp;
+                        edges.accept(child);
+                    }
+                }
+            }
+        }
+    }
+
+    // The node whose center is closest to (x, y) within radius, or -1
+    int nodeAt(double x, double y, double radius) {
+        int best = -1;
+        double bestDistance = radius * radius;
+        for (int r = row(y - radius); r <= row(y + radius); r++) {
+            for (int c = column(x - radius); c <= column(x + radius); c++) {
+                int cell = cellIndex(c, r);
+                for (int i = 0; i < nodeCellSizes[cell]; i++) {
+                    int node = nodeCells[cell][i];
+                    double dx = xs[node] - x;
+                    double dy = ys[node] - y;
+                    double distance = dx * dx + dy * dy;
+                    if (distance <= bestDistance) {
+                        bestDistance = distance;
+                        best = node;
+                    }
+                }
+            }
+        }
+        return best;
+    }
+
+    int size() {
+        return count;
+    }
+
+    double getWidth() {
+        return width;
+    }
+
+    double getHeight() {
+        return height;
+    }
+
+    int value(int index) {
+        return values[index];
+    }
+
+    long result(int index) {
+        return results[index];
+    }
+
+    int parent(int index) {
+        return parents[index];
+    }
+
+    double x(int index) {
+        return xs[index];
+    }
+
+    double y(int index) {
+        return ys[index];
+    }
+
+    private void grow() {
+        int capacity = values.length * 2;
+        values = Arrays.copyOf(values, capacity);
+        results = Arrays.copyOf(results, capacity);
+        parents = Arrays.copyOf(parents, capacity);
+        xs = Arrays.copyOf(xs, capacity);
+        ys = Arrays.copyOf(ys, capacity);
+        edgeStamps = Arrays.copyOf(edgeStamps, capacity);
+    }
+
+    private int column(double x) {
+        return Math.max(0, Math.min(columns - 1, (int) (x / CELL_SIZE)));
+    }
+
+    private int row(double y) {
+        return Math.max(0, Math.min(rows - 1, (int) (y / CELL_SIZE)));
+    }
+
+    private int cellIndex(int column, int row) {
+        return row * columns + column;
+    }
+
+    private static void insert(int[][] cells, int[] sizes, int cell, int item) {
+        int[] items = cells[cell];
+        if (items == null) {
+            items = cells[cell] = new int[8];
+        } else if (sizes[cell] == items.length) {
+            items = cells[cell] = Arrays.copyOf(items, items.length * 2);
+        }
+        items[sizes[cell]++] = item;
+    }
+}
@@ -1,114 +1,245 @@
 package org.example.fibonaccivisualization.view;
 
+import javafx.animation.AnimationTimer;
+import javafx.beans.InvalidationListener;
+import javafx.beans.property.ReadOnlyStringProperty;
+import javafx.beans.property.ReadOnlyStringWrapper;
+import javafx.geometry.Bounds;
+import javafx.scene.control.ScrollPane;
 import javafx.scene.layout.Pane;
-import javafx.scene.shape.Line;
-import org.example.fibonaccivisualization.model.FibNode;
-import javafx.scene.paint.Color;
-import javafx.scene.transform.Scale;
+import org.example.fibonaccivisualization.model.RecursionTreeStream;
+import org.example.fibonaccivisualization.model.TreeNodeRecord;
 
+import java.util.ArrayList;
+import java.util.List;
+
+// Only the part of the tree inside the scroll viewport is drawn. Everything else lives in TreeLayout, and the
+// active TreeRenderer redraws the visible part whenever the viewport scrolls or zooms. The layout itself is
+// filled progressively from a RecursionTreeStream, a time-boxed batch per pulse.
 public class TreePane extends Pane {
-    private static final double BASE_H_GAP = 80;
-    private static final double V_GAP = 70;
-    private static final double NODE_RADIUS = 25;
-    private static final double MIN_H_GAP = 30;
-
-    private double treeWidth = 1532;
-    private double treeHeight = 600;
-    private double maxDepth = 1.5;
+    private static final double MIN_SCALE = 0.05;
+    private static final double MAX_SCALE = 4.0;
+
+    // Weight of the newest sample in the frame time moving average
+    private static final double FRAME_TIME_SMOOTHING = 0.2;
+
+    // Share of a 60 Hz pulse (16.7 ms) spent adding streamed nodes, leaving the rest for rendering and input
+    private static final long STREAM_BUDGET_NANOS = 4_000_000;
+    private static final int STREAM_BATCH_SIZE = 256;
+
+    private final TreeRenderer sceneGraphRenderer = new SceneGraphTreeRenderer();
+    private final TreeRenderer canvasRenderer = new CanvasTreeRenderer();
+    private TreeRenderer renderer = sceneGraphRenderer;
+
+    private TreeLayout layout;
+    private ScrollPane viewport;
     private double currentScale = 1.0;
-    private final Scale scaleTransform = new Scale();
+    private double originX;
+    private int renderedNodes;
+
+    private RecursionTreeStream stream;
+    private long streamTotalNodes;
+    private final List<TreeNodeRecord> streamBatch = new ArrayList<>(STREAM_BATCH_SIZE);
+    private final AnimationTimer streamTimer = new AnimationTimer() {
+        @Override
+        public void handle(long now) {
+            drainStream();
+        }
+    };
+
+    // Frame time runs from a redraw request to the end of the layout pass that follows it, so it includes the
+    // CSS and layout work the scene-graph renderer causes, not just the time spent in render()
+    private final ReadOnlyStringWrapper frameStats = new ReadOnlyStringWrapper("");
+    private final Runnable pulseListener = this::recordFrameTime;
+    private long frameStart;
+    private double averageFrameMillis;
 
     public TreePane() {
         setStyle("-fx-background-color: #ecf0f1; -fx-border-color: #bdc3c7; -fx-border-width: 1;");
-        this.getTransforms().add(scaleTransform);
+        getChildren().add(renderer.getNode());
+
+        sceneProperty().addListener((observable, oldScene, newScene) -> {
+            if (oldScene != null) oldScene.removePostLayoutPulseListener(pulseListener);
+            if (newScene != null) newScene.addPostLayoutPulseListener(pulseListener);
+        });
+    }
+
+    public void attachViewport(ScrollPane scrollPane) {
+        viewport = scrollPane;
+        InvalidationListener refresh = observable -> refresh();
+        scrollPane.hvalueProperty().addListener(refresh);
+        scrollPane.vvalueProperty().addListener(refresh);
+        scrollPane.viewportBoundsProperty().addListener(refresh);
+    }
+
+    // Replaces the current tree with an empty layout sized for the stream's tree, then fills it in as the
+    // producer emits nodes. The caller is responsible for running stream.produce on a background thread.
+    public void streamTree(RecursionTreeStream newStream) {
+        stopStream();
+        stream = newStream;
+        streamTotalNodes = newStream.getTotalNodes();
+        layout = new TreeLayout(newStream.getN());
+        currentScale = 1.0;
+        if (viewport != null) {
+            viewport.setHvalue(0.5);
+            viewport.setVvalue(0);
+        }
+        refresh();
+        streamTimer.start();
+    }
+
+    public void clearTree() {
+        stopStream();
+        layout = null;
+        refresh();
+    }
+
+    // Stops filling in the tree but keeps what has been built so far
+    public void stopStreaming() {
+        if (stream == null) return;
+        stopStream();
+        refresh();
+    }
+
+    public void setCanvasRendering(boolean canvas) {
+        TreeRenderer next = canvas ? canvasRenderer : sceneGraphRenderer;
+        if (next == renderer) return;
+
+        renderer.clear();
+        getChildren().remove(renderer.getNode());
+        renderer = next;
+        getChildren().add(renderer.getNode());
+
+        averageFrameMillis = 0;
+        refresh();
     }
 
-    public void drawTree(FibNode root) {
-        clearTree();
-        if (root == null) return;
+    public ReadOnlyStringProperty frameStatsProperty() {
+        return frameStats.getReadOnlyProperty();
+    }
 
-        calculateTreeDimensions(root, 0);
-        double initialHGap = BASE_H_GAP * Math.pow(1.8, maxDepth - 1);
-        double centerX = getWidth() / 2; // Center of the pane
-        double rootX = Math.max(centerX, treeWidth / 2); // Ensure the tree is centered
-        drawNode(root, rootX, 50, initialHGap);
+    public int getLayoutNodeCount() {
+        return layout == null ? 0 : layout.size();
+    }
 
-        setPrefSize(treeWidth, treeHeight);
-        resetZoom();
+    public int getRenderedNodeCount() {
+        return renderedNodes;
     }
 
     public void zoomIn() {
-        currentScale *= 1.2;
-        applyZoom();
+        zoomTo(currentScale * 1.2);
     }
 
     public void zoomOut() {
-        currentScale /= 1.2;
-        applyZoom();
+        zoomTo(currentScale / 1.2);
     }
 
     public void resetZoom() {
-        currentScale = 1.0;
-        applyZoom();
+        zoomTo(1.0);
     }
 
-    private void applyZoom() {
-        scaleTransform.setX(currentScale);
-        scaleTransform.setY(currentScale);
-    }
+    private void zoomTo(double scale) {
+        scale = Math.max(MIN_SCALE, Math.min(MAX_SCALE, scale));
+        if (layout == null || viewport == null) {
+            currentScale = scale;
+            return;
+        }
 
-    private void calculateTreeDimensions(FibNode node, int currentDepth) {
-        if (node == null) return;
+        // Keep the tree point under the middle of the viewport in place while zooming
+        Bounds bounds = viewport.getViewportBounds();
+        double centerX = (scrollLeft(bounds) + bounds.getWidth() / 2 - originX) / currentScale;
+        double centerY = (scrollTop(bounds) + bounds.getHeight() / 2) / currentScale;
 
-        maxDepth = Math.max(maxDepth, currentDepth);
-        calculateTreeDimensions(node.left, currentDepth + 1);
-        calculateTreeDimensions(node.right, currentDepth + 1);
+        currentScale = scale;
+        double paneWidth = Math.max(layout.getWidth() * scale, bounds.getWidth());
+        double paneHeight = Math.max(layout.getHeight() * scale, bounds.getHeight());
+        double newOriginX = (paneWidth - layout.getWidth() * scale) / 2;
 
-        treeWidth = Math.max(treeWidth, BASE_H_GAP * Math.pow(2, maxDepth + 1));
-        treeHeight = (maxDepth + 2) * V_GAP + 100;
+        viewport.setHvalue(fraction(newOriginX + centerX * scale - bounds.getWidth() / 2, paneWidth - bounds.getWidth()));
+        viewport.setVvalue(fraction(centerY * scale - bounds.getHeight() / 2, paneHeight - bounds.getHeight()));
+        refresh();
     }
 
-    private void drawNode(FibNode node, double x, double y, double hGap) {
-        if (node == null) return;
+    private void refresh() {
+        if (frameStart == 0) {
+            frameStart = System.nanoTime();
+        }
 
-        NodeView view = new NodeView("F(" + node.value + ")");
-        view.setLayoutX(x - NODE_RADIUS);
-        view.setLayoutY(y - NODE_RADIUS);
-        getChildren().add(view);
-        node.view = view;
+        if (layout == null || viewport == null) {
+            renderer.clear();
+            renderedNodes = 0;
+            return;
+        }
 
-        // Update the node view with the result
-        view.updateWithResult(node.result);
+        Bounds bounds = viewport.getViewportBounds();
+        double contentWidth = layout.getWidth() * currentScale;
+        double contentHeight = layout.getHeight() * currentScale;
+        double paneWidth = Math.max(contentWidth, bounds.getWidth());
+        double paneHeight = Math.max(contentHeight, bounds.getHeight());
+        setPrefSize(paneWidth, paneHeight);
+        setMinSize(paneWidth, paneHeight);
 
-        double childHGap = Math.max(hGap / 1.8, MIN_H_GAP);
-        double childY = y + V_GAP;
+        // Center trees narrower than the viewport, as the old fixed-width layout did
+        originX = (paneWidth - contentWidth) / 2;
 
-        if (node.left != null) {
-            double childX = x - hGap;
-            drawNode(node.left, childX, childY, childHGap);
-            drawConnectingLine(x, y + NODE_RADIUS, childX, childY - NODE_RADIUS);
+        TreeRenderer.Viewport visible = new TreeRenderer.Viewport(scrollLeft(bounds), scrollTop(bounds),
+                bounds.getWidth(), bounds.getHeight(), currentScale, originX);
+        renderedNodes = renderer.render(layout, visible);
+    }
+
+    private void drainStream() {
+        long deadline = System.nanoTime() + STREAM_BUDGET_NANOS;
+        int added = 0;
+        do {
+            streamBatch.clear();
+            if (stream.drainTo(streamBatch, STREAM_BATCH_SIZE) == 0) break;
+            for (TreeNodeRecord record : streamBatch) {
+                layout.add(record);
+            }
+            added += streamBatch.size();
+        } while (System.nanoTime() < deadline);
+
+        if (stream.isDone()) {
+            stopStream();
+        }
+        if (added > 0 || stream == null) {
+            refresh();
         }
+    }
 
-        if (node.right != null) {
-            double childX = x + hGap;
-            drawNode(node.right, childX, childY, childHGap);
-            drawConnectingLine(x, y + NODE_RADIUS, childX, childY - NODE_RADIUS);
+    private void stopStream() {
+        streamTimer.stop();
+        if (stream != null) {
+            stream.close();
+            stream = null;
         }
     }
 
-    private void drawConnectingLine(double startX, double startY, double endX, double endY) {
-        Line line = new Line(startX, startY, endX, endY);
-        line.setStroke(Color.rgb(100, 100, 100));
-        line.setStrokeWidth(1.2);
-        line.getStrokeDashArray().addAll(4d, 4d);
-        getChildren().add(line);
+    private void recordFrameTime() {
+        if (frameStart == 0) return;
+
+        double millis = (System.nanoTime() - frameStart) / 1e6;
+        frameStart = 0;
+        averageFrameMillis = averageFrameMillis == 0
+                ? millis
+                : averageFrameMillis + FRAME_TIME_SMOOTHING * (millis - averageFrameMillis);
+        String stats = String.format("%s: %.2f ms/frame, %d nodes drawn", renderer.getName(), averageFrameMillis,
+                renderedNodes);
+        if (stream != null) {
+            stats += String.format(", building %d/%d", layout.size(), streamTotalNodes);
+        }
+        frameStats.set(stats);
+    }
+
+    private double scrollLeft(Bounds bounds) {
+        return viewport.getHvalue() * Math.max(0, getPrefWidth() - bounds.getWidth());
+    }
+
+    private double scrollTop(Bounds bounds) {
+        return viewport.getVvalue() * Math.max(0, getPrefHeight() - bounds.getHeight());
     }
 
-    private void clearTree() {
-        getChildren().clear();
-        maxDepth = 1.5;
-        treeWidth = 1532;
-        treeHeight = 600;
-        setWidth(treeWidth);
+    private static double fraction(double offset, double range) {
+        return range <= 0 ? 0 : Math.max(0, Math.min(1, offset / range));
     }
 }
@@ -0,0 +1,39 @@
+package org.example.fibonaccivisualization.view;
+
+import javafx.scene.Node;
+
+// A rendering backend for TreePane. TreePane owns the layout, zoom and scrolling; the renderer only draws
+// whatever part of the layout falls inside the given viewport.
+interface TreeRenderer {
+    // Below this scale node labels are unreadable and are not drawn
+    double DETAIL_SCALE = 0.45;
+
+    String getName();
+
+    // The scene-graph node TreePane adds as its child while this renderer is active
+    Node getNode();
+
+    // Returns the number of tree nodes drawn
+    int render(TreeLayout layout, Viewport viewport);
+
+    void clear();
+
+    // The visible part of the pane in pane coordinates, and how layout coordinates map onto it
+    record Viewport(double left, double top, double width, double height, double scale, double originX) {
+        double screenX(double x) {
+            return originX + x * scale;
+        }
+
+        double screenY(double y) {
+            return y * scale;
+        }
+
+        double layoutX(double screenX) {
+            return (screenX - originX) / scale;
+        }
+
+        double layoutY(double screenY) {
+            return screenY / scale;
+        }
+    }
+}